@@ -0,0 +1,30 @@
+package com.expense_tracker.config;
+
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.UUID;
+
+/*
+ * Identity of this application instance, used as owner of database leases and jobs
+ * (host name + random suffix, so two instances on one host never share an id).
+ */
+@Component
+public class NodeIdentity {
+
+    private final String id;
+
+    public NodeIdentity() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        this.id = host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public String getId() {
+        return id;
+    }
+}
@@ -0,0 +1,48 @@
+package com.expense_tracker.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * app.rate-limit.* settings used by RateLimitingFilter.
+ * Routes are matched in order (Ant patterns); unmatched requests use the default limit.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private String backend = "memory"; // memory | redis
+
+    private long idleTimeoutMinutes = 15; // in-memory buckets unused for this long are dropped
+
+    private Limit defaultLimit = new Limit(100, 100);
+
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Limit {
+        private long capacity;        // burst size
+        private long refillPerMinute; // sustained rate
+
+        public Limit() {}
+
+        public Limit(long capacity, long refillPerMinute) {
+            this.capacity = capacity;
+            this.refillPerMinute = refillPerMinute;
+        }
+    }
+
+    @Data
+    public static class Route {
+        private String pattern;
+        private long capacity;
+        private long refillPerMinute;
+    }
+}
@@ -1,32 +1,78 @@
 package com.expense_tracker.config;
 
+import com.expense_tracker.config.cache.CacheInvalidationBus;
+import com.expense_tracker.config.cache.TwoTierCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 
 import java.time.Duration;
 
+/*
+ * Caches are two-tier: Caffeine on each node in front of Redis (see TwoTierCache).
+ * With app.cache.redis.enabled=false only the local tier is used.
+ */
 @Configuration
 @EnableCaching
 public class RedisConfig {
 
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(5))
-                .serializeValuesWith(
-                        RedisSerializationContext.SerializationPair.fromSerializer(
-                                new GenericJackson2JsonRedisSerializer()
-                        )
-                );
-
-        return RedisCacheManager.builder(redisConnectionFactory)
-                .cacheDefaults(config)
-                .build();
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                            ObjectProvider<CacheInvalidationBus> invalidationBus,
+                                            MeterRegistry meterRegistry,
+                                            @Value("${app.cache.redis.enabled:false}") boolean redisEnabled,
+                                            @Value("${app.cache.local.ttl-seconds:60}") long localTtlSeconds,
+                                            @Value("${app.cache.local.max-size:10000}") long localMaxSize) {
+        RedisCacheManager redisCacheManager = null;
+
+        if (redisEnabled) {
+            RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+                    .entryTtl(Duration.ofMinutes(5))
+                    .serializeValuesWith(
+                            RedisSerializationContext.SerializationPair.fromSerializer(
+                                    new GenericJackson2JsonRedisSerializer()
+                            )
+                    );
+
+            // SCAN instead of KEYS for prefix evictions
+            redisCacheManager = RedisCacheManager.builder(
+                            RedisCacheWriter.nonLockingRedisCacheWriter(redisConnectionFactory, BatchStrategies.scan(500)))
+                    .cacheDefaults(config)
+                    .build();
+            redisCacheManager.initializeCaches();
+        }
+
+        return new TwoTierCacheManager(redisCacheManager, invalidationBus.getIfAvailable(), meterRegistry,
+                Duration.ofSeconds(localTtlSeconds), localMaxSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.redis.enabled", havingValue = "true")
+    public CacheInvalidationBus cacheInvalidationBus(StringRedisTemplate stringRedisTemplate) {
+        return new CacheInvalidationBus(stringRedisTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.redis.enabled", havingValue = "true")
+    public RedisMessageListenerContainer cacheInvalidationListener(RedisConnectionFactory redisConnectionFactory,
+                                                                   CacheInvalidationBus cacheInvalidationBus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(cacheInvalidationBus, new ChannelTopic(CacheInvalidationBus.CHANNEL));
+        return container;
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.expense_tracker.config;
 
 import com.expense_tracker.security.JwtAuthenticationFilter;
+import com.expense_tracker.security.RateLimitingFilter;
 import com.expense_tracker.service.AuthService;
 import com.expense_tracker.utility.ApiErrorResponseWriter;
 import jakarta.servlet.http.HttpServletResponse;
@@ -26,6 +27,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final RateLimitingFilter rateLimitingFilter;
     private final AuthService authService;
     private final PasswordEncoder passwordEncoder;
 
@@ -36,6 +38,8 @@ public class SecurityConfig {
                 .cors(cors ->  {}) // this enables CORS and uses your WebMvcConfigurer
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         // specific first
                         .requestMatchers("/api/auth/me").authenticated()
 
@@ -70,7 +74,8 @@ public class SecurityConfig {
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider())   // ⭐ IMPORTANT
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitingFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
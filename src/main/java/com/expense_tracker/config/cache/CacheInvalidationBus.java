@@ -0,0 +1,95 @@
+package com.expense_tracker.config.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Redis pub/sub channel that keeps the local tiers of all nodes coherent.
+ * Message: "<node>\n<op>\n<cache>\n<key>", op = EVICT | PREFIX | CLEAR.
+ * A node ignores its own messages (it already applied the change locally).
+ * Per-node caches outside the cache manager (PrincipalCache) subscribe by cache name.
+ */
+@Slf4j
+public class CacheInvalidationBus implements MessageListener {
+
+    // A per-node cache that is not managed by TwoTierCacheManager
+    public interface LocalCache {
+        void evictLocal(String key);
+
+        void clearLocal();
+    }
+
+    public static final String CHANNEL = "expense-tracker:cache-invalidation";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redisTemplate;
+    private TwoTierCacheManager cacheManager;
+    private final Map<String, LocalCache> localCaches = new ConcurrentHashMap<>();
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    void attach(TwoTierCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public void subscribe(String cacheName, LocalCache cache) {
+        localCaches.put(cacheName, cache);
+    }
+
+    public void publishEvict(String cacheName, String key) {
+        publish("EVICT", cacheName, key);
+    }
+
+    void publishEvictPrefix(String cacheName, String prefix) {
+        publish("PREFIX", cacheName, prefix);
+    }
+
+    public void publishClear(String cacheName) {
+        publish("CLEAR", cacheName, "");
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\n", 4);
+        if (parts.length < 4 || parts[0].equals(nodeId)) return;
+
+        LocalCache localCache = localCaches.get(parts[2]);
+        if (localCache != null) {
+            switch (parts[1]) {
+                case "EVICT" -> localCache.evictLocal(parts[3]);
+                case "CLEAR" -> localCache.clearLocal();
+                default -> log.warn("[CACHE] [BUS] Unsupported invalidation op {} for {}", parts[1], parts[2]);
+            }
+            return;
+        }
+        if (cacheManager == null) return;
+
+        TwoTierCache cache = cacheManager.getExistingCache(parts[2]);
+        if (cache == null) return; // never used on this node, nothing cached locally
+
+        switch (parts[1]) {
+            case "EVICT" -> cache.evictLocal(parts[3]);
+            case "PREFIX" -> cache.evictLocalByPrefix(parts[3]);
+            case "CLEAR" -> cache.clearLocal();
+            default -> log.warn("[CACHE] [BUS] Unknown invalidation op {}", parts[1]);
+        }
+    }
+
+    private void publish(String op, String cacheName, String key) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, nodeId + "\n" + op + "\n" + cacheName + "\n" + key);
+        } catch (RuntimeException e) {
+            // other nodes fall back to the local TTL
+            log.warn("[CACHE] [BUS] Publishing {} {}::{} failed: {}", op, cacheName, key, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.expense_tracker.config.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.util.concurrent.Callable;
+
+/*
+ * Caffeine near-cache in front of a shared RedisCache (remote may be null -> local only).
+ *
+ * Reads: local -> Redis (copied into local) -> loader. Writes go to both tiers.
+ * Evictions hit both tiers and are broadcast on the invalidation bus so the other
+ * nodes drop their local copies. Redis failures never fail the request: the cache
+ * degrades to local only and the value is recomputed.
+ *
+ * Metrics: cache.requests{cache, result=local_hit|remote_hit|miss}.
+ */
+@Slf4j
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Cache<Object, Object> local;
+    private final RedisCache remote;
+    private final CacheInvalidationBus bus;
+
+    private final Counter localHits;
+    private final Counter remoteHits;
+    private final Counter misses;
+
+    public TwoTierCache(String name, Cache<Object, Object> local, RedisCache remote,
+                        CacheInvalidationBus bus, MeterRegistry meterRegistry) {
+        super(true);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.bus = bus;
+        this.localHits = counter(meterRegistry, "local_hit");
+        this.remoteHits = counter(meterRegistry, "remote_hit");
+        this.misses = counter(meterRegistry, "miss");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = local.getIfPresent(key);
+        if (value != null) {
+            localHits.increment();
+            return value;
+        }
+
+        if (remote != null) {
+            try {
+                ValueWrapper wrapper = remote.get(key);
+                if (wrapper != null) {
+                    remoteHits.increment();
+                    Object stored = toStoreValue(wrapper.get());
+                    local.put(key, stored);
+                    return stored;
+                }
+            } catch (RuntimeException e) {
+                log.warn("[CACHE] [REDIS] Read of {}::{} failed, using local tier only: {}", name, key, e.getMessage());
+            }
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object stored = lookup(key);
+        if (stored != null) {
+            return (T) fromStoreValue(stored);
+        }
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        local.put(key, toStoreValue(value));
+        if (remote != null) {
+            try {
+                remote.put(key, value);
+            } catch (RuntimeException e) {
+                log.warn("[CACHE] [REDIS] Write of {}::{} failed: {}", name, key, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Object existing = lookup(key);
+        if (existing != null) {
+            return new SimpleValueWrapper(fromStoreValue(existing));
+        }
+        put(key, value);
+        return null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictLocal(key);
+        if (remote != null) {
+            try {
+                remote.evict(key);
+            } catch (RuntimeException e) {
+                log.warn("[CACHE] [REDIS] Evict of {}::{} failed: {}", name, key, e.getMessage());
+            }
+        }
+        if (bus != null) bus.publishEvict(name, key.toString());
+    }
+
+    // Drops every entry whose (string) key starts with the prefix, e.g. everything of one user
+    public void evictByPrefix(String prefix) {
+        evictLocalByPrefix(prefix);
+        if (remote != null) {
+            try {
+                remote.clear(prefix + "*");
+            } catch (RuntimeException e) {
+                log.warn("[CACHE] [REDIS] Evict of {}::{}* failed: {}", name, prefix, e.getMessage());
+            }
+        }
+        if (bus != null) bus.publishEvictPrefix(name, prefix);
+    }
+
+    @Override
+    public void clear() {
+        clearLocal();
+        if (remote != null) {
+            try {
+                remote.clear();
+            } catch (RuntimeException e) {
+                log.warn("[CACHE] [REDIS] Clear of {} failed: {}", name, e.getMessage());
+            }
+        }
+        if (bus != null) bus.publishClear(name);
+    }
+
+    // Local-only variants, applied when another node broadcasts an invalidation
+
+    void evictLocal(Object key) {
+        local.invalidate(key);
+    }
+
+    void evictLocalByPrefix(String prefix) {
+        local.asMap().keySet().removeIf(key -> key.toString().startsWith(prefix));
+    }
+
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.requests")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
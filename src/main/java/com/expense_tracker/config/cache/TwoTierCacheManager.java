@@ -0,0 +1,61 @@
+package com.expense_tracker.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Creates a TwoTierCache per name on first use; redisCacheManager == null -> local tier only
+public class TwoTierCacheManager implements CacheManager {
+
+    private final RedisCacheManager redisCacheManager;
+    private final CacheInvalidationBus bus;
+    private final MeterRegistry meterRegistry;
+    private final Duration localTtl;
+    private final long localMaxSize;
+
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(RedisCacheManager redisCacheManager, CacheInvalidationBus bus,
+                               MeterRegistry meterRegistry, Duration localTtl, long localMaxSize) {
+        this.redisCacheManager = redisCacheManager;
+        this.bus = bus;
+        this.meterRegistry = meterRegistry;
+        this.localTtl = localTtl;
+        this.localMaxSize = localMaxSize;
+        if (bus != null) bus.attach(this);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return List.copyOf(caches.keySet());
+    }
+
+    TwoTierCache getExistingCache(String name) {
+        return caches.get(name);
+    }
+
+    private TwoTierCache createCache(String name) {
+        RedisCache remote = redisCacheManager != null ? (RedisCache) redisCacheManager.getCache(name) : null;
+
+        return new TwoTierCache(name,
+                Caffeine.newBuilder()
+                        .expireAfterWrite(localTtl)
+                        .maximumSize(localMaxSize)
+                        .build(),
+                remote, bus, meterRegistry);
+    }
+}
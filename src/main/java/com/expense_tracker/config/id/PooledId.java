@@ -0,0 +1,19 @@
+package com.expense_tracker.config.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+ * Id taken from the shared id_generators table (PooledIdGenerator) instead of IDENTITY,
+ * so Hibernate can batch inserts. value = the entity's table name (one row per table).
+ */
+@IdGeneratorType(PooledIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledId {
+    String value();
+}
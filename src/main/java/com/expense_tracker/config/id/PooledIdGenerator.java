@@ -0,0 +1,51 @@
+package com.expense_tracker.config.id;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/*
+ * Table-backed pooled id generator:
+ *   id_generators(name, next_val)  -- next_val = last id handed out for that table (Hibernate's default)
+ * Each node reserves allocation-size ids per round trip (pooled-lo), so inserts need no
+ * generated keys back from the database and can be sent as JDBC batches.
+ * Allocation size: spring.jpa.properties.app.ids.allocation-size (default 50).
+ */
+public class PooledIdGenerator extends TableGenerator {
+
+    public static final String TABLE = "id_generators";
+    public static final String SEGMENT_COLUMN = "name";
+    public static final String VALUE_COLUMN = "next_val";
+
+    static final String ALLOCATION_SIZE_SETTING = "app.ids.allocation-size";
+    private static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    private final String segment;
+
+    public PooledIdGenerator(PooledId config) {
+        this.segment = config.value();
+    }
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        int allocationSize = serviceRegistry.requireService(ConfigurationService.class)
+                .getSetting(ALLOCATION_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+
+        Properties settings = new Properties();
+        settings.putAll(params);
+        settings.setProperty(TABLE_PARAM, TABLE);
+        settings.setProperty(SEGMENT_COLUMN_PARAM, SEGMENT_COLUMN);
+        settings.setProperty(VALUE_COLUMN_PARAM, VALUE_COLUMN);
+        settings.setProperty(SEGMENT_VALUE_PARAM, segment);
+        settings.setProperty(INITIAL_PARAM, "1");
+        settings.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize));
+        settings.setProperty(OPT_PARAM, "pooled-lo");
+
+        super.configure(type, settings, serviceRegistry);
+    }
+}
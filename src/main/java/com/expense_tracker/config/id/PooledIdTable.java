@@ -0,0 +1,97 @@
+package com.expense_tracker.config.id;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Field;
+
+/*
+ * The id_generators table behind @PooledId:
+ * (next_val holds the last id handed out, each reservation takes the ids after it)
+ * - at startup every segment is moved up to the table's current MAX(id), so rows created
+ *   with IDENTITY (or by an older node) can never collide with pooled ids
+ * - reserve() hands out id blocks to JDBC batch inserts that bypass Hibernate
+ */
+@Slf4j
+@Component
+public class PooledIdTable {
+
+    private static final String UPDATE_IF_BEHIND = "UPDATE " + PooledIdGenerator.TABLE
+            + " SET " + PooledIdGenerator.VALUE_COLUMN + " = ?"
+            + " WHERE " + PooledIdGenerator.SEGMENT_COLUMN + " = ? AND " + PooledIdGenerator.VALUE_COLUMN + " < ?";
+
+    private static final String INSERT_SEGMENT = "INSERT INTO " + PooledIdGenerator.TABLE
+            + " (" + PooledIdGenerator.SEGMENT_COLUMN + ", " + PooledIdGenerator.VALUE_COLUMN + ") VALUES (?, ?)";
+
+    private static final String SELECT_LAST_USED = "SELECT " + PooledIdGenerator.VALUE_COLUMN
+            + " FROM " + PooledIdGenerator.TABLE + " WHERE " + PooledIdGenerator.SEGMENT_COLUMN + " = ?";
+
+    private static final String ADVANCE = "UPDATE " + PooledIdGenerator.TABLE
+            + " SET " + PooledIdGenerator.VALUE_COLUMN + " = " + PooledIdGenerator.VALUE_COLUMN + " + ?"
+            + " WHERE " + PooledIdGenerator.SEGMENT_COLUMN + " = ?";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+
+    public PooledIdTable(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Runs once the schema is up and before the scheduled jobs / runners insert anything
+    @PostConstruct
+    void alignWithExistingRows() {
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            for (Field field : entity.getJavaType().getDeclaredFields()) {
+                PooledId pooledId = field.getAnnotation(PooledId.class);
+                if (pooledId != null) {
+                    align(pooledId.value());
+                }
+            }
+        }
+    }
+
+    // First id of a block of count ids for segment; committed at once, so the row lock is not
+    // held for the caller's transaction (ids of a rolled back caller are simply skipped)
+    public long reserve(String segment, int count) {
+        Long last = requiresNew.execute(status -> {
+            if (jdbcTemplate.update(ADVANCE, count, segment) == 0) {
+                throw new IllegalStateException("No id generator row for " + segment);
+            }
+            return jdbcTemplate.queryForObject(SELECT_LAST_USED, Long.class, segment);
+        });
+        return last - count + 1;
+    }
+
+    private void align(String segment) {
+        long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + segment, Long.class);
+
+        if (jdbcTemplate.update(UPDATE_IF_BEHIND, maxId, segment, maxId) > 0) {
+            log.info("[IDS] [ALIGN] {} moved past existing id {}", segment, maxId);
+            return;
+        }
+
+        Long lastUsed = jdbcTemplate.query(SELECT_LAST_USED, rs -> rs.next() ? rs.getLong(1) : null, segment);
+        if (lastUsed == null) {
+            try {
+                jdbcTemplate.update(INSERT_SEGMENT, segment, maxId);
+                log.info("[IDS] [ALIGN] {} starts after id {}", segment, maxId);
+            } catch (DuplicateKeyException e) {
+                // another node created the row first
+                align(segment);
+            }
+        }
+    }
+}
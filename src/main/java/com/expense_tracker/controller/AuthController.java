@@ -11,6 +11,8 @@ import com.expense_tracker.model.Role;
 import com.expense_tracker.model.User;
 import com.expense_tracker.repository.UserRepository;
 import com.expense_tracker.response.ApiResponse;
+import com.expense_tracker.security.PasswordHashingService;
+import com.expense_tracker.security.PrincipalCache;
 import com.expense_tracker.service.AuthService;
 import com.expense_tracker.service.PasswordResetService;
 import com.expense_tracker.service.UserService;
@@ -19,7 +21,6 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
@@ -35,8 +36,9 @@ public class AuthController {
     private final UserService userService;
     private final UserRepository userRepository;
     private final PasswordResetService passwordResetService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final NotificationService notificationService;
+    private final PrincipalCache principalCache;
 
     @PostMapping("/register")
     public ResponseEntity<ApiResponse<UserResponseDTO>> registerUser(
@@ -202,8 +204,9 @@ public class AuthController {
 
         passwordResetService.verifyOtp(user, request.getOtp());
 
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setPassword(passwordHashingService.encode(request.getNewPassword()));
         userRepository.save(user);
+        principalCache.invalidateUser(user.getEmail());
 
         notificationService.sendNotification(
                 user,
@@ -1,7 +1,10 @@
 package com.expense_tracker.controller;
 
+import com.expense_tracker.dto.transaction.TransactionCursorPageDTO;
 import com.expense_tracker.dto.transaction.TransactionRequestDTO;
 import com.expense_tracker.dto.transaction.TransactionResponseDTO;
+import com.expense_tracker.dto.transaction.TransactionSearchCriteria;
+import com.expense_tracker.exception.BadRequestException;
 import com.expense_tracker.exception.UserNotFoundException;
 import com.expense_tracker.model.Transaction;
 import com.expense_tracker.model.TransactionType;
@@ -12,6 +15,7 @@ import com.expense_tracker.service.UserService;
 import com.expense_tracker.utility.mapper.TransactionMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -20,6 +24,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.time.LocalDate;
+import java.util.Set;
 
 @RestController
 @RequestMapping("api/transactions")
@@ -30,6 +35,8 @@ public class TransactionController {
     private final UserService userService;
     private final UserRepository userRepository;
 
+    private static final int MAX_CURSOR_LIMIT = 100;
+
     @PostMapping
     public ResponseEntity<ApiResponse<TransactionResponseDTO>> addTransaction(
             @RequestBody TransactionRequestDTO dto,
@@ -56,13 +63,14 @@ public class TransactionController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<ApiResponse<Transaction>> updateTransaction(
+    public ResponseEntity<ApiResponse<TransactionResponseDTO>> updateTransaction(
             @PathVariable Long id,
             @RequestBody Transaction transaction) {
 
         Transaction updated = transactionService.updateTransaction(id, transaction);
 
-        return ResponseEntity.ok(new ApiResponse<>("success", "Transaction updated", updated, 200));
+        return ResponseEntity.ok(new ApiResponse<>("success", "Transaction updated",
+                TransactionMapper.toDTO(updated), 200));
     }
 
     @DeleteMapping("/{id}")
@@ -72,7 +80,7 @@ public class TransactionController {
     }
 
     @GetMapping
-    public Page<Transaction> getAll(
+    public Page<TransactionResponseDTO> getAll(
             @AuthenticationPrincipal UserDetails userDetails,
             @RequestParam int page,
             @RequestParam int size) {
@@ -90,7 +98,7 @@ public class TransactionController {
     }
 
     @GetMapping("/filter/type")
-    public Page<Transaction> filterByType(
+    public Page<TransactionResponseDTO> filterByType(
             @AuthenticationPrincipal UserDetails userDetails,
             @RequestParam TransactionType type,
             @RequestParam int page,
@@ -109,7 +117,7 @@ public class TransactionController {
     }
 
     @GetMapping("/filter/date")
-    public Page<Transaction> filterByDate(
+    public Page<TransactionResponseDTO> filterByDate(
             @AuthenticationPrincipal UserDetails userDetails,
             @RequestParam String start,
             @RequestParam String end,
@@ -129,8 +137,70 @@ public class TransactionController {
     }
 
 
+    // Cursor (keyset) listing, newest first; combine any of the filters, follow nextCursor for more
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponse<TransactionCursorPageDTO>> listByCursor(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        if (limit < 1 || limit > MAX_CURSOR_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_CURSOR_LIMIT);
+        }
+
+        Long userId = userService.getUserIdByEmail(userDetails.getUsername());
+
+        TransactionCursorPageDTO page = transactionService.listByCursor(userId, type, categoryId,
+                start, end != null ? end.plusDays(1) : null, cursor, limit, includeTotal);
+
+        return ResponseEntity.ok(new ApiResponse<>("success", "Transactions fetched", page, 200));
+    }
+
+    // One query for any combination of filters (categoryIds=1,2 / minAmount / maxAmount / notes ...)
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<TransactionCursorPageDTO>> search(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) Set<Long> categoryIds,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) Double minAmount,
+            @RequestParam(required = false) Double maxAmount,
+            @RequestParam(required = false) String notes,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        if (limit < 1 || limit > MAX_CURSOR_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_CURSOR_LIMIT);
+        }
+        if (minAmount != null && maxAmount != null && minAmount > maxAmount) {
+            throw new BadRequestException("minAmount must not be greater than maxAmount");
+        }
+
+        Long userId = userService.getUserIdByEmail(userDetails.getUsername());
+
+        TransactionSearchCriteria criteria = TransactionSearchCriteria.builder()
+                .type(type)
+                .categoryIds(categoryIds)
+                .start(start)
+                .endExclusive(end != null ? end.plusDays(1) : null)
+                .minAmount(minAmount)
+                .maxAmount(maxAmount)
+                .notes(notes)
+                .build();
+
+        TransactionCursorPageDTO page = transactionService.search(userId, criteria, cursor, limit);
+
+        return ResponseEntity.ok(new ApiResponse<>("success", "Transactions fetched", page, 200));
+    }
+
     @PostMapping("/upload-receipt")
-    public ResponseEntity<ApiResponse<Transaction>> uploadReceipt(
+    public ResponseEntity<ApiResponse<TransactionResponseDTO>> uploadReceipt(
             @RequestParam("file") MultipartFile file,
             @RequestParam("transactionId") Long transactionId,
             @AuthenticationPrincipal UserDetails userDetails
@@ -141,7 +211,7 @@ public class TransactionController {
         Transaction updated = transactionService.attachReceipt(file, transactionId, userId);
 
         return ResponseEntity.ok(
-                new ApiResponse<>("success", "Receipt uploaded", updated, 200)
+                new ApiResponse<>("success", "Receipt uploaded", TransactionMapper.toDTO(updated), 200)
         );
     }
 
@@ -4,15 +4,15 @@ package com.expense_tracker.controller.admin;
 import com.expense_tracker.dto.admin.AdminDashboardDTO;
 import com.expense_tracker.dto.user.UserResponseDTO;
 import com.expense_tracker.repository.TransactionRepository;
+import com.expense_tracker.response.ApiResponse;
 import com.expense_tracker.service.UserService;
 import com.expense_tracker.service.admin.AdminService;
+import com.expense_tracker.service.analytics.MonthlyRollupService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -24,6 +24,7 @@ public class AdminController {
 
 
     private final AdminService adminService;
+    private final MonthlyRollupService monthlyRollupService;
 
     // 1. List all users
     @GetMapping("/users")
@@ -46,4 +47,18 @@ public class AdminController {
         return ResponseEntity.ok(dto);
 
     }
+
+    // 3. Backfill analytics rollups from transaction history (all users if userId is omitted)
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<ApiResponse<Integer>> rebuildRollups(
+            @RequestParam(required = false) Long userId
+    ) {
+        int rows = monthlyRollupService.rebuild(userId);
+        return ResponseEntity.ok(new ApiResponse<>(
+                "success",
+                "Monthly rollups rebuilt",
+                rows,
+                HttpStatus.OK.value()
+        ));
+    }
 }
\ No newline at end of file
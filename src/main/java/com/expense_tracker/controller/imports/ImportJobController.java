@@ -0,0 +1,57 @@
+package com.expense_tracker.controller.imports;
+
+import com.expense_tracker.dto.imports.ImportJobResponseDTO;
+import com.expense_tracker.response.ApiResponse;
+import com.expense_tracker.service.imports.TransactionImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/transactions/imports")
+@RequiredArgsConstructor
+public class ImportJobController {
+
+    private final TransactionImportService transactionImportService;
+
+    // CSV or XLSX with a header row: Date, Amount, Type, Category, Notes (the export format)
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<ImportJobResponseDTO>> submitImport(
+            @RequestParam("file") MultipartFile file) throws IOException {
+        log.info("[IMPORT] [JOB] Enter ImportJobController::submitImport()");
+
+        ImportJobResponseDTO job = transactionImportService.submit(file);
+        ApiResponse<ImportJobResponseDTO> response = new ApiResponse<>(
+                "success",
+                "Import job queued",
+                job,
+                HttpStatus.ACCEPTED.value()
+        );
+        return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<ImportJobResponseDTO>>> getJobs() {
+        List<ImportJobResponseDTO> jobs = transactionImportService.getJobs();
+        return ResponseEntity.ok(
+                new ApiResponse<>("success", "Import jobs retrieved", jobs, HttpStatus.OK.value())
+        );
+    }
+
+    // poll for progress (processed / imported / skipped rows)
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<ImportJobResponseDTO>> getJob(@PathVariable Long id) {
+        ImportJobResponseDTO job = transactionImportService.getJob(id);
+        return ResponseEntity.ok(
+                new ApiResponse<>("success", "Import job retrieved", job, HttpStatus.OK.value())
+        );
+    }
+}
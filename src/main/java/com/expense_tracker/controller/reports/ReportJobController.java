@@ -0,0 +1,70 @@
+package com.expense_tracker.controller.reports;
+
+import com.expense_tracker.dto.reports.ReportJobRequestDTO;
+import com.expense_tracker.dto.reports.ReportJobResponseDTO;
+import com.expense_tracker.model.reports.ReportJob;
+import com.expense_tracker.response.ApiResponse;
+import com.expense_tracker.service.reports.ReportJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/reports/jobs")
+@RequiredArgsConstructor
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<ReportJobResponseDTO>> submitJob(@RequestBody ReportJobRequestDTO dto) {
+        log.info("[REPORTS] [JOB] Enter ReportJobController::submitJob()");
+
+        ReportJobResponseDTO job = reportJobService.submit(dto);
+        ApiResponse<ReportJobResponseDTO> response = new ApiResponse<>(
+                "success",
+                "Report job queued",
+                job,
+                HttpStatus.ACCEPTED.value()
+        );
+        return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<ReportJobResponseDTO>>> getJobs() {
+        List<ReportJobResponseDTO> jobs = reportJobService.getJobs();
+        return ResponseEntity.ok(
+                new ApiResponse<>("success", "Report jobs retrieved", jobs, HttpStatus.OK.value())
+        );
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<ReportJobResponseDTO>> getJob(@PathVariable Long id) {
+        ReportJobResponseDTO job = reportJobService.getJob(id);
+        return ResponseEntity.ok(
+                new ApiResponse<>("success", "Report job retrieved", job, HttpStatus.OK.value())
+        );
+    }
+
+    // Range requests (resumable downloads) are handled by Spring for Resource bodies
+    @GetMapping("/{id}/download")
+    public ResponseEntity<Resource> download(@PathVariable Long id) {
+        ReportJob job = reportJobService.getCompletedJob(id);
+        Resource file = reportJobService.getFile(job);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=report-" + job.getId() + "." + job.getFormat().getExtension())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(MediaType.parseMediaType(job.getFormat().getContentType()))
+                .body(file);
+    }
+}
@@ -1,7 +1,10 @@
 package com.expense_tracker.controller.reports;
 
+import com.expense_tracker.exception.BadRequestException;
+import com.expense_tracker.service.UserService;
 import com.expense_tracker.service.reports.ReportsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -9,9 +12,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/reports")
@@ -19,31 +22,45 @@ import java.nio.file.Paths;
 public class ReportsController {
 
     private final ReportsService reportsService;
+    private final UserService userService;
 
     @GetMapping("/export")
-    public ResponseEntity<byte[]> exportCSV(
+    public ResponseEntity<StreamingResponseBody> exportCSV(
             @RequestParam int month,
             @RequestParam int year
-    ) throws Exception {
-        byte[] data = reportsService.exportCSV(month, year);
+    ) {
+        // resolve the user on the request thread, rows are written on the async thread
+        LocalDate start = monthStart(month, year);
+        Long userId = userService.getCurrentUser().getId();
+
+        StreamingResponseBody body = out -> reportsService.writeCSV(userId, start, start.plusMonths(1), out);
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=transactions.csv")
                 .contentType(MediaType.parseMediaType("text/csv"))
-                .body(data);
+                .body(body);
     }
 
 
     @GetMapping("/monthly/excel")
-    public ResponseEntity<byte[]> exportExcel(
+    public ResponseEntity<StreamingResponseBody> exportExcel(
             @RequestParam int month,
             @RequestParam int year
-    ) throws Exception {
-        System.out.println("Entered in the exportExcel controller");
-        byte[] data = reportsService.exportExcel(month, year);
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=transactions.xlsx")
-                .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .body(data);
+    ) {
+        LocalDate start = monthStart(month, year);
+        return excelResponse(start, start.plusMonths(1));
+    }
+
+    // Large export: any date range, e.g. a quarter or a whole year (end date inclusive)
+    @GetMapping("/excel")
+    public ResponseEntity<StreamingResponseBody> exportExcelRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end
+    ) {
+        if (end.isBefore(start)) {
+            throw new BadRequestException("end must not be before start");
+        }
+
+        return excelResponse(start, end.plusDays(1));
     }
 
     @GetMapping("/monthly/pdf")
@@ -51,6 +68,7 @@ public class ReportsController {
             @RequestParam int month,
             @RequestParam int year
     ) throws Exception {
+        monthStart(month, year);
         System.out.println("Entering in the exportPDF controller");
         byte[] data = reportsService.exportPDF(month, year);
 
@@ -68,14 +86,33 @@ public class ReportsController {
             @RequestParam int month,
             @RequestParam int year
     ) throws Exception {
-        byte[] logoBytes = Files.readAllBytes(Paths.get("src/main/resources/static/images/logo.png"));
-//        reportsService.exportMonthlyHtmlPdf(month, year, logoBytes);
-
-        byte[] pdf = reportsService.exportMonthlyHtmlPdf(month, year, null); // or pass logo bytes
+        monthStart(month, year);
+        byte[] pdf = reportsService.exportMonthlyHtmlPdf(month, year); // logo is embedded by the renderer
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=monthly_statement.pdf")
                 .contentType(MediaType.APPLICATION_PDF)
                 .body(pdf);
     }
 
+    /* Helper: first day of the requested month; out-of-range values are a 400, not a DateTimeException */
+    private static LocalDate monthStart(int month, int year) {
+        if (month < 1 || month > 12) {
+            throw new BadRequestException("month must be between 1 and 12");
+        }
+        if (year < 1 || year > 9999) {
+            throw new BadRequestException("year must be between 1 and 9999");
+        }
+        return LocalDate.of(year, month, 1);
+    }
+
+    private ResponseEntity<StreamingResponseBody> excelResponse(LocalDate start, LocalDate endExclusive) {
+        Long userId = userService.getCurrentUser().getId();
+
+        StreamingResponseBody body = out -> reportsService.writeExcel(userId, start, endExclusive, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=transactions.xlsx")
+                .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                .body(body);
+    }
+
 }
\ No newline at end of file
@@ -1,10 +1,14 @@
 package com.expense_tracker.dto.admin;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class AdminDashboardDTO {
     private static final long serialVersionUID = 1L;
 
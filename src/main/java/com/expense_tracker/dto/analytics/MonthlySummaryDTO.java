@@ -2,8 +2,10 @@ package com.expense_tracker.dto.analytics;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
 public class MonthlySummaryDTO {
     private Double totalIncome;
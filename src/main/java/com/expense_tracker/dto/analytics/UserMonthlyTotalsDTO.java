@@ -0,0 +1,15 @@
+package com.expense_tracker.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// One row of the all-users monthly aggregation (TransactionRepository.findMonthlyTotalsByUser)
+@Data
+@AllArgsConstructor
+public class UserMonthlyTotalsDTO {
+    private Long userId;
+    private String name;
+    private String email;
+    private Double income;
+    private Double expense;
+}
@@ -0,0 +1,26 @@
+package com.expense_tracker.dto.imports;
+
+import com.expense_tracker.model.imports.ImportFormat;
+import com.expense_tracker.model.imports.ImportJobStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+public class ImportJobResponseDTO {
+    private Long id;
+    private ImportFormat format;
+    private ImportJobStatus status;
+    private String fileName;
+    private long processedRows;
+    private long importedRows;
+    private long skippedRows;
+    private List<String> rowErrors;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+}
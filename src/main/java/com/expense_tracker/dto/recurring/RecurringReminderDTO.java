@@ -0,0 +1,19 @@
+package com.expense_tracker.dto.recurring;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+// One upcoming recurring payment, projected straight from the reminder query
+@Data
+@AllArgsConstructor
+public class RecurringReminderDTO {
+    private Long userId;
+    private String name;
+    private String email;
+    private Double amount;
+    private String categoryName;
+    private LocalDate nextExecutionDate;
+    private Long recurringId; // keyset position when paging
+}
@@ -0,0 +1,13 @@
+package com.expense_tracker.dto.reports;
+
+import com.expense_tracker.model.reports.ReportFormat;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class ReportJobRequestDTO {
+    private ReportFormat format;
+    private LocalDate start;
+    private LocalDate end; // inclusive
+}
@@ -0,0 +1,25 @@
+package com.expense_tracker.dto.reports;
+
+import com.expense_tracker.model.reports.ReportFormat;
+import com.expense_tracker.model.reports.ReportJobStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class ReportJobResponseDTO {
+    private Long id;
+    private ReportFormat format;
+    private ReportJobStatus status;
+    private LocalDate start;
+    private LocalDate end;
+    private Long fileSize;
+    private String errorMessage;
+    private String downloadUrl; // set once the job is COMPLETED
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,15 @@
+package com.expense_tracker.dto.transaction;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class TransactionCursorPageDTO {
+    private List<TransactionResponseDTO> items;
+    private String nextCursor;  // pass back as ?cursor= for the next page, null on the last page
+    private boolean hasMore;
+    private Long total;         // only when includeTotal=true
+}
@@ -0,0 +1,21 @@
+package com.expense_tracker.dto.transaction;
+
+import com.expense_tracker.model.TransactionType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+// All filters are optional and combined with AND
+@Data
+@Builder
+public class TransactionSearchCriteria {
+    private TransactionType type;
+    private Set<Long> categoryIds;
+    private LocalDate start;         // inclusive
+    private LocalDate endExclusive;
+    private Double minAmount;
+    private Double maxAmount;
+    private String notes;            // case-insensitive "contains"
+}
@@ -0,0 +1,25 @@
+package com.expense_tracker.dto.transaction;
+
+import com.expense_tracker.model.TransactionType;
+
+import java.time.LocalDate;
+
+// Row of the paged transaction listings: only the columns the list needs, no User / Category entities
+public interface TransactionView {
+
+    Long getId();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    TransactionType getType();
+
+    Double getAmount();
+
+    String getNotes();
+
+    Boolean getRecurring();
+
+    LocalDate getDate();
+}
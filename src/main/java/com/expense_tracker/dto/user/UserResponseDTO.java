@@ -11,16 +11,22 @@ public class UserResponseDTO {
     private String email;
     private Role role;
     private LocalDateTime createdAt;
+    private Integer reminderLeadDays;
 
     public UserResponseDTO() {
     }
 
     public UserResponseDTO(Long id, String name, String email, Role role,LocalDateTime createdAt) {
+        this(id, name, email, role, createdAt, null);
+    }
+
+    public UserResponseDTO(Long id, String name, String email, Role role, LocalDateTime createdAt, Integer reminderLeadDays) {
         this.id = id;
         this.name = name;
         this.email = email;
         this.role = role;
         this.createdAt = createdAt;
+        this.reminderLeadDays = reminderLeadDays;
     }
 
     public Long getId() {
@@ -62,4 +68,12 @@ public class UserResponseDTO {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Integer getReminderLeadDays() {
+        return reminderLeadDays;
+    }
+
+    public void setReminderLeadDays(Integer reminderLeadDays) {
+        this.reminderLeadDays = reminderLeadDays;
+    }
 }
\ No newline at end of file
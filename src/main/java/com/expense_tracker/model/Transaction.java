@@ -1,5 +1,7 @@
 package com.expense_tracker.model;
 
+import com.expense_tracker.config.id.PooledId;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -8,7 +10,16 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "transactions")
+@Table(
+        name = "transactions",
+        indexes = {
+                @Index(name = "idx_transactions_user_archived_type_date", columnList = "user_id, archived, type, date"),
+                @Index(name = "idx_transactions_user_archived_date_id", columnList = "user_id, archived, date, id"),
+                @Index(name = "idx_transactions_user_category_date", columnList = "user_id, category_id, date"),
+                @Index(name = "idx_transactions_user_date", columnList = "user_id, date"),
+                @Index(name = "idx_transactions_date", columnList = "date")
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,11 +28,12 @@ import java.time.LocalDate;
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId("transactions")
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
     private User user; // link to user
 
     @Enumerated(EnumType.STRING)
@@ -39,7 +51,7 @@ public class Transaction {
 
     private LocalDate date; // date of transaction
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
 
@@ -55,6 +55,10 @@ public class User {
     @Column(name = "lock_time")
     private LocalDateTime lockTime;
 
+    // days before a recurring payment to send the reminder (null -> app default)
+    @Column(name = "reminder_lead_days")
+    private Integer reminderLeadDays;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
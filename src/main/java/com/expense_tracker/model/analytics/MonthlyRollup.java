@@ -0,0 +1,62 @@
+package com.expense_tracker.model.analytics;
+
+import com.expense_tracker.model.Category;
+import com.expense_tracker.model.TransactionType;
+import com.expense_tracker.model.User;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * Pre-aggregated totals of non-archived transactions per (user, year, month, category, type).
+ * Maintained by MonthlyRollupService on every transaction write.
+ *
+ * The unique key uses category_key (category id, 0 = uncategorised) instead of the nullable
+ * category_id, so uncategorised buckets are unique too and writes can upsert on it.
+ */
+@Entity
+@Table(
+        name = "monthly_rollups",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_monthly_rollups_bucket",
+                columnNames = {"user_id", "year", "month", "category_key", "type"}
+        )
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    private int year;
+
+    private int month;
+
+    @ManyToOne
+    @JoinColumn(name = "category_id")
+    private Category category; // null = uncategorised
+
+    @Builder.Default
+    @Column(name = "category_key", nullable = false)
+    private Long categoryKey = 0L; // category id, 0 = uncategorised
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @Builder.Default
+    private Double amount = 0.0;
+
+    @Builder.Default
+    private Long transactionCount = 0L;
+}
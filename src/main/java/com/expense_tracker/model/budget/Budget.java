@@ -13,7 +13,8 @@ import lombok.NoArgsConstructor;
         name = "budgets",
         uniqueConstraints = @UniqueConstraint(
                 columnNames = {"month", "year", "category_id", "user_id"}
-        )
+        ),
+        indexes = @Index(name = "idx_budgets_period_user", columnList = "month, year, user_id")
 )
 @Data
 @NoArgsConstructor
@@ -41,4 +42,9 @@ public class Budget {
 
     @Builder.Default
     private Double spent = 0.0; // auto updated based on transactions
+
+    // transaction total already excluded by a manual reset: spent = sum(transactions) - spentOffset
+    @Builder.Default
+    @Column(name = "spent_offset", nullable = false)
+    private Double spentOffset = 0.0;
 }
\ No newline at end of file
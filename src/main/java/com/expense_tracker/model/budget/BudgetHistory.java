@@ -1,5 +1,6 @@
 package com.expense_tracker.model.budget;
 
+import com.expense_tracker.config.id.PooledId;
 import com.expense_tracker.model.Category;
 import com.expense_tracker.model.User;
 import jakarta.persistence.*;
@@ -19,7 +20,7 @@ import java.time.LocalDateTime;
 public class BudgetHistory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId("budget_history")
     private Long id;
 
     private Long originalBudgetId; // reference to original budget
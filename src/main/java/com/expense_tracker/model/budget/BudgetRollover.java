@@ -0,0 +1,37 @@
+package com.expense_tracker.model.budget;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/*
+ * Checkpoint of one month-end rollover; period is the month rolled over ("2026-09").
+ * STARTED until a run committed every partition, the lease keeps two nodes from
+ * running the same period at once.
+ */
+@Entity
+@Table(name = "budget_rollovers")
+@Getter
+@Setter
+@NoArgsConstructor
+public class BudgetRollover {
+
+    @Id
+    @Column(length = 7)
+    private String period;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private BudgetRolloverStatus status;
+
+    private String leaseOwner;
+
+    private LocalDateTime leaseUntil;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,6 @@
+package com.expense_tracker.model.budget;
+
+public enum BudgetRolloverStatus {
+    STARTED,
+    COMPLETED
+}
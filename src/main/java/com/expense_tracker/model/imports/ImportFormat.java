@@ -0,0 +1,24 @@
+package com.expense_tracker.model.imports;
+
+import lombok.Getter;
+
+@Getter
+public enum ImportFormat {
+    CSV("csv"),
+    EXCEL("xlsx");
+
+    private final String extension;
+
+    ImportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    // by file extension, null if the file type is not supported
+    public static ImportFormat fromFileName(String fileName) {
+        if (fileName == null) return null;
+        String name = fileName.toLowerCase();
+        if (name.endsWith(".csv")) return CSV;
+        if (name.endsWith(".xlsx")) return EXCEL;
+        return null;
+    }
+}
@@ -0,0 +1,79 @@
+package com.expense_tracker.model.imports;
+
+import com.expense_tracker.model.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/*
+ * A bulk transaction import that runs in the background (see TransactionImportService).
+ * Row counters are updated after every inserted batch so clients can poll progress.
+ * Status changes after creation are conditional updates by the owner node, so a job
+ * another node failed as stale is never flipped back to COMPLETED.
+ */
+@Entity
+@Table(
+        name = "import_jobs",
+        indexes = @Index(name = "idx_import_jobs_user_status", columnList = "user_id, status")
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ImportFormat format;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ImportJobStatus status = ImportJobStatus.QUEUED;
+
+    private String fileName; // as uploaded
+
+    private String filePath; // stored upload, removed once the job has run
+
+    @Builder.Default
+    private long processedRows = 0;
+
+    @Builder.Default
+    private long importedRows = 0;
+
+    @Builder.Default
+    private long skippedRows = 0;
+
+    @Column(length = 2000)
+    private String rowErrors; // first few rejected rows, one per line
+
+    @Column(length = 500)
+    private String errorMessage;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+
+    private String ownerNode; // node that stored the upload and runs the job
+
+    private LocalDateTime heartbeatAt; // refreshed by the owner while the job is queued or running
+}
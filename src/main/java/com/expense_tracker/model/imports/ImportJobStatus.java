@@ -0,0 +1,8 @@
+package com.expense_tracker.model.imports;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
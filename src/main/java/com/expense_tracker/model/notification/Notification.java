@@ -1,5 +1,6 @@
 package com.expense_tracker.model.notification;
 
+import com.expense_tracker.config.id.PooledId;
 import com.expense_tracker.model.User;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
@@ -12,7 +13,10 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(
+        name = "notifications",
+        indexes = @Index(name = "idx_notifications_user_read", columnList = "user_id, is_read")
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,7 +24,7 @@ import java.time.LocalDateTime;
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId("notifications")
     private Long id;
 
     private String title;
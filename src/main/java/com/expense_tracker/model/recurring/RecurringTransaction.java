@@ -1,5 +1,6 @@
 package com.expense_tracker.model.recurring;
 
+import com.expense_tracker.config.id.PooledId;
 import com.expense_tracker.model.Category;
 import com.expense_tracker.model.User;
 import jakarta.persistence.*;
@@ -9,9 +10,13 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "recurring_transactions")
+@Table(
+        name = "recurring_transactions",
+        indexes = @Index(name = "idx_recurring_next_execution", columnList = "next_execution_date")
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,7 +24,7 @@ import java.time.LocalDate;
 public class RecurringTransaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId("recurring_transactions")
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -38,4 +43,9 @@ public class RecurringTransaction {
     @Column(nullable = false)
     private Double amount;
 
+    // execution lease: the node currently posting this item (see RecurringExecutionEngine)
+    private String leaseOwner;
+
+    private LocalDateTime leaseUntil;
+
 }
\ No newline at end of file
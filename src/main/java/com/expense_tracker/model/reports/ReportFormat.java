@@ -0,0 +1,18 @@
+package com.expense_tracker.model.reports;
+
+import lombok.Getter;
+
+@Getter
+public enum ReportFormat {
+    CSV("csv", "text/csv"),
+    EXCEL("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+    PDF("pdf", "application/pdf");
+
+    private final String extension;
+    private final String contentType;
+
+    ReportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+}
@@ -0,0 +1,74 @@
+package com.expense_tracker.model.reports;
+
+import com.expense_tracker.model.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/*
+ * A report export that runs in the background (see ReportJobService).
+ * The generated file lives in the report file store until the job expires.
+ * Status changes after creation are conditional updates by the owner node, so a job
+ * another node failed as stale is never flipped back to COMPLETED.
+ */
+@Entity
+@Table(
+        name = "report_jobs",
+        indexes = @Index(name = "idx_report_jobs_user_status", columnList = "user_id, status")
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReportFormat format;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReportJobStatus status = ReportJobStatus.QUEUED;
+
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    @Column(nullable = false)
+    private LocalDate endDate; // inclusive
+
+    private String filePath;
+
+    private Long fileSize;
+
+    @Column(length = 500)
+    private String errorMessage;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+
+    private String ownerNode; // node whose pool runs the job
+
+    private LocalDateTime heartbeatAt; // refreshed by the owner while the job is queued or running
+}
@@ -0,0 +1,8 @@
+package com.expense_tracker.model.reports;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
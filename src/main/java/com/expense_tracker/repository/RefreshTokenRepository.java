@@ -11,6 +11,7 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     Optional<RefreshToken> findByToken(String token);
     void deleteByUser(User user);
     Optional<RefreshToken> findTopByUserOrderByIdDesc(User user);
+    Optional<RefreshToken> findTopByUserEmailOrderByIdDesc(String email);
 
 
 }
\ No newline at end of file
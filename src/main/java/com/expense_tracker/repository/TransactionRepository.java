@@ -1,127 +1,171 @@
 package com.expense_tracker.repository;
 
+import com.expense_tracker.dto.analytics.UserMonthlyTotalsDTO;
+import com.expense_tracker.dto.transaction.TransactionView;
 import com.expense_tracker.model.Transaction;
 import com.expense_tracker.model.TransactionType;
-import com.expense_tracker.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction>,
+        TransactionSearchRepository {
 
-    Page<Transaction> findByUser_IdAndArchivedFalse(Long userId, Pageable pageable);
-
-    Page<Transaction> findByUser_IdAndTypeAndArchivedFalse(
-            Long userId,
-            TransactionType type,
-            Pageable pageable);
-
-    Page<Transaction> findByUser_IdAndCategory_IdAndArchivedFalse(
-            Long userId,
-            Long categoryId,
-            Pageable pageable);
+    // Paged listings project straight into TransactionView (one query + one count, no entity loading)
+    @Query(value = """
+            SELECT t.id AS id, c.id AS categoryId, c.name AS categoryName, t.type AS type,
+                   t.amount AS amount, t.notes AS notes, t.recurring AS recurring, t.date AS date
+            FROM Transaction t
+            LEFT JOIN t.category c
+            WHERE t.user.id = :userId
+              AND t.archived = false
+            ORDER BY t.date DESC, t.id DESC
+            """,
+            countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId AND t.archived = false")
+    Page<TransactionView> findViews(@Param("userId") Long userId, Pageable pageable);
 
-    Page<Transaction> findByUser_IdAndDateBetweenAndArchivedFalse(
-            Long userId,
-            LocalDate startDate,
-            LocalDate endDate,
-            Pageable pageable);
+    @Query(value = """
+            SELECT t.id AS id, c.id AS categoryId, c.name AS categoryName, t.type AS type,
+                   t.amount AS amount, t.notes AS notes, t.recurring AS recurring, t.date AS date
+            FROM Transaction t
+            LEFT JOIN t.category c
+            WHERE t.user.id = :userId
+              AND t.archived = false
+              AND t.type = :type
+            ORDER BY t.date DESC, t.id DESC
+            """,
+            countQuery = """
+                    SELECT COUNT(t) FROM Transaction t
+                    WHERE t.user.id = :userId AND t.archived = false AND t.type = :type
+                    """)
+    Page<TransactionView> findViewsByType(@Param("userId") Long userId,
+                                          @Param("type") TransactionType type,
+                                          Pageable pageable);
 
+    @Query(value = """
+            SELECT t.id AS id, c.id AS categoryId, c.name AS categoryName, t.type AS type,
+                   t.amount AS amount, t.notes AS notes, t.recurring AS recurring, t.date AS date
+            FROM Transaction t
+            JOIN t.category c
+            WHERE t.user.id = :userId
+              AND t.archived = false
+              AND c.id = :categoryId
+            ORDER BY t.date DESC, t.id DESC
+            """,
+            countQuery = """
+                    SELECT COUNT(t) FROM Transaction t
+                    WHERE t.user.id = :userId AND t.archived = false AND t.category.id = :categoryId
+                    """)
+    Page<TransactionView> findViewsByCategory(@Param("userId") Long userId,
+                                              @Param("categoryId") Long categoryId,
+                                              Pageable pageable);
+
+    // [start, end], both inclusive
+    @Query(value = """
+            SELECT t.id AS id, c.id AS categoryId, c.name AS categoryName, t.type AS type,
+                   t.amount AS amount, t.notes AS notes, t.recurring AS recurring, t.date AS date
+            FROM Transaction t
+            LEFT JOIN t.category c
+            WHERE t.user.id = :userId
+              AND t.archived = false
+              AND t.date >= :start
+              AND t.date <= :end
+            ORDER BY t.date DESC, t.id DESC
+            """,
+            countQuery = """
+                    SELECT COUNT(t) FROM Transaction t
+                    WHERE t.user.id = :userId AND t.archived = false
+                      AND t.date >= :start AND t.date <= :end
+                    """)
+    Page<TransactionView> findViewsByDateRange(@Param("userId") Long userId,
+                                               @Param("start") LocalDate start,
+                                               @Param("end") LocalDate end,
+                                               Pageable pageable);
+
+    // Single transaction with its category, for writes that hand the result back as a DTO
+    @EntityGraph(attributePaths = "category")
+    Optional<Transaction> findWithCategoryById(Long id);
+
+    // Date filters are half-open ranges [start, end) so the (user_id, ..., date) indexes can be used
     @Query("""
             SELECT COALESCE(SUM(t.amount), 0)
             FROM Transaction t
             WHERE t.user.id = :userId
-               AND FUNCTION('MONTH', t.date) = :month
-               AND FUNCTION('YEAR', t.date) = :year
+              AND t.date >= :start
+              AND t.date < :end
               AND t.archived = false
               AND t.type = 'EXPENSE'
               AND (:categoryId IS NULL OR t.category.id = :categoryId)
             """)
-    double sumSpent(Long userId, Integer month, Integer year, Long categoryId);
+    double sumSpent(@Param("userId") Long userId,
+                    @Param("start") LocalDate start,
+                    @Param("end") LocalDate end,
+                    @Param("categoryId") Long categoryId);
 
 
-    @Query("SELECT t.category.name, COALESCE(SUM(t.amount), 0) " +
-            "FROM Transaction t " +
+    @Query("SELECT t FROM Transaction t " +
+            "LEFT JOIN FETCH t.category " +
             "WHERE t.user.id = :userId " +
-            "AND FUNCTION('MONTH', t.date) = :month " +
-            "AND FUNCTION('YEAR', t.date) = :year " +
-            "GROUP BY t.category.name")
-    List<Object[]> getCategoryWiseSpending(@Param("userId") Long userId,
-                                           @Param("month") int month,
-                                           @Param("year") int year);
-
-
-    // Monthly trend for last N months
-    // TransactionRepository.java
-    @Query(value = """
-            SELECT YEAR(t.date) AS yr,
-                   MONTH(t.date) AS mn,
-                   SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE 0 END) AS income,
-                   SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount ELSE 0 END) AS expense
-            FROM transactions t
-            WHERE t.user_id = :userId
-              AND t.date >= :startDate
-              AND t.archived = false
-            GROUP BY YEAR(t.date), MONTH(t.date)
-            ORDER BY YEAR(t.date), MONTH(t.date)
-            """, nativeQuery = true)
-    List<Object[]> getMonthlyTrendsNative(
+            "AND t.date >= :start " +
+            "AND t.date < :end ")
+    List<Transaction> findByUserIdAndDateRange(
             @Param("userId") Long userId,
-            @Param("startDate") LocalDate startDate
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end
     );
 
 
-    @Query("SELECT COALESCE(SUM(t.amount), 0) " +
-            "FROM Transaction t " +
-            "WHERE t.user.id = :userId " +
-            "AND FUNCTION('MONTH', t.date) = :month " +
-            "AND FUNCTION('YEAR', t.date) = :year " +
-            "AND t.type = :type")
-    Double sumByUserAndMonthAndType(@Param("userId") Long userId,
-                                    @Param("month") int month,
-                                    @Param("year") int year,
-                                    @Param("type") TransactionType type);
-
-
+    // Streamed read for exports: fetch size Integer.MIN_VALUE makes Connector/J stream rows one by one
+    // instead of buffering the whole result (must be consumed inside a transaction, and no other
+    // statement may run on the connection until the stream is closed)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
     @Query("SELECT t FROM Transaction t " +
+            "LEFT JOIN FETCH t.category " +
             "WHERE t.user.id = :userId " +
-            "AND FUNCTION('MONTH', t.date) = :month " +
-            "AND FUNCTION('YEAR', t.date) = :year ")
-    List<Transaction> findByUserIdAndMonthAndYear(
+            "AND t.date >= :start " +
+            "AND t.date < :end ")
+    Stream<Transaction> streamByUserIdAndDateRange(
             @Param("userId") Long userId,
-            @Param("month") int month,
-            @Param("year") int year
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end
     );
 
 
-    @Query("SELECT t FROM Transaction t WHERE t.recurring = true AND t.date = :date")
-    List<Transaction> findByRecurringDate(@Param("date") LocalDate date);
-
-    @Query("SELECT DISTINCT t.user FROM Transaction t")
-    List<User> findDistinctUsers();
-
-
-    // Sum of income for a user in a date range
-    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t " +
-            "WHERE t.user.id = :userId AND t.type = 'INCOME' " +
-            "AND t.date BETWEEN :start AND :end")
-    double sumIncome(@Param("userId") Long userId,
-                     @Param("start") LocalDate start,
-                     @Param("end") LocalDate end);
-
-
-    // Sum of expense for a user in a date range
-    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t " +
-            "WHERE t.user.id = :userId AND t.type = 'EXPENSE' " +
-            "AND t.date BETWEEN :start AND :end")
-    double sumExpense(@Param("userId") Long userId,
-                      @Param("start") LocalDate start,
-                      @Param("end") LocalDate end);
+    // Income / expense per user for [start, end), one keyset page of users (ordered by user id)
+    // per call, so memory stays bounded without holding a streaming result set open
+    @Query("""
+                SELECT new com.expense_tracker.dto.analytics.UserMonthlyTotalsDTO(
+                    u.id, u.name, u.email,
+                    COALESCE(SUM(CASE WHEN t.type = com.expense_tracker.model.TransactionType.INCOME THEN t.amount ELSE 0.0 END), 0.0),
+                    COALESCE(SUM(CASE WHEN t.type = com.expense_tracker.model.TransactionType.EXPENSE THEN t.amount ELSE 0.0 END), 0.0))
+                FROM Transaction t
+                JOIN t.user u
+                WHERE t.archived = false
+                  AND t.date >= :start
+                  AND t.date < :end
+                  AND u.id > :afterUserId
+                GROUP BY u.id, u.name, u.email
+                ORDER BY u.id
+            """)
+    List<UserMonthlyTotalsDTO> findMonthlyTotalsByUser(@Param("start") LocalDate start,
+                                                       @Param("end") LocalDate end,
+                                                       @Param("afterUserId") Long afterUserId,
+                                                       Pageable pageable);
 
 
     @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.type='INCOME'")
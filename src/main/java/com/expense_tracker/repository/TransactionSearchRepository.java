@@ -0,0 +1,13 @@
+package com.expense_tracker.repository;
+
+import com.expense_tracker.dto.transaction.TransactionResponseDTO;
+import com.expense_tracker.model.Transaction;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TransactionSearchRepository {
+
+    // First `limit` matches in (date DESC, id DESC) order, projected straight into DTOs
+    List<TransactionResponseDTO> findPage(Specification<Transaction> spec, int limit);
+}
@@ -0,0 +1,68 @@
+package com.expense_tracker.repository;
+
+import com.expense_tracker.dto.transaction.TransactionResponseDTO;
+import com.expense_tracker.model.Category;
+import com.expense_tracker.model.Transaction;
+import com.expense_tracker.model.TransactionType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/*
+ * Selects only the columns the listing needs (no entity hydration, no eager user /
+ * category loads); the category name comes from a single left join.
+ */
+@RequiredArgsConstructor
+public class TransactionSearchRepositoryImpl implements TransactionSearchRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<TransactionResponseDTO> findPage(Specification<Transaction> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Transaction> t = query.from(Transaction.class);
+        Join<Transaction, Category> c = t.join("category", JoinType.LEFT);
+
+        query.multiselect(
+                        t.get("id").alias("id"),
+                        c.get("id").alias("categoryId"),
+                        c.get("name").alias("categoryName"),
+                        t.get("type").alias("type"),
+                        t.get("amount").alias("amount"),
+                        t.get("notes").alias("notes"),
+                        t.get("recurring").alias("recurring"),
+                        t.get("date").alias("date"))
+                .where(spec.toPredicate(t, query, cb))
+                .orderBy(cb.desc(t.get("date")), cb.desc(t.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(TransactionSearchRepositoryImpl::toDTO)
+                .toList();
+    }
+
+    private static TransactionResponseDTO toDTO(Tuple row) {
+        TransactionResponseDTO dto = new TransactionResponseDTO();
+        dto.setId(row.get("id", Long.class));
+        dto.setCategoryId(row.get("categoryId", Long.class));
+        dto.setCategoryName(row.get("categoryName", String.class));
+        dto.setType(row.get("type", TransactionType.class).name());
+        dto.setAmount(row.get("amount", Double.class));
+        dto.setNotes(row.get("notes", String.class));
+        dto.setRecurring(row.get("recurring", Boolean.class));
+        dto.setDate(row.get("date", LocalDate.class));
+        return dto;
+    }
+}
@@ -0,0 +1,69 @@
+package com.expense_tracker.repository;
+
+import com.expense_tracker.model.Transaction;
+import com.expense_tracker.model.TransactionType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/*
+ * Building blocks for dynamic transaction queries. Each one is a single indexable
+ * predicate; absent filters simply aren't added (no "param IS NULL OR ..." in the SQL).
+ */
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+    }
+
+    public static Specification<Transaction> liveOf(Long userId) {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("user").get("id"), userId),
+                cb.isFalse(root.get("archived")));
+    }
+
+    public static Specification<Transaction> hasType(TransactionType type) {
+        return (root, query, cb) -> cb.equal(root.get("type"), type);
+    }
+
+    public static Specification<Transaction> inCategory(Long categoryId) {
+        return (root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    public static Specification<Transaction> inCategories(Collection<Long> categoryIds) {
+        return (root, query, cb) -> root.get("category").get("id").in(categoryIds);
+    }
+
+    public static Specification<Transaction> amountAtLeast(double min) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("amount"), min);
+    }
+
+    public static Specification<Transaction> amountAtMost(double max) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("amount"), max);
+    }
+
+    // Not indexable: only ever evaluated on the rows the user / date predicates already narrowed down
+    public static Specification<Transaction> notesContain(String text) {
+        String pattern = "%" + text.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("notes")), pattern, '\\');
+    }
+
+    // [start, end)
+    public static Specification<Transaction> dateFrom(LocalDate start) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("date"), start);
+    }
+
+    public static Specification<Transaction> dateBefore(LocalDate end) {
+        return (root, query, cb) -> cb.lessThan(root.get("date"), end);
+    }
+
+    // Keyset: rows after (date, id) in "date DESC, id DESC" order
+    public static Specification<Transaction> seekAfter(LocalDate date, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("date"), date),
+                cb.and(cb.equal(root.get("date"), date), cb.lessThan(root.get("id"), id)));
+    }
+}
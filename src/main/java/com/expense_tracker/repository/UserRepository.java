@@ -1,8 +1,14 @@
 package com.expense_tracker.repository;
 
 import com.expense_tracker.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -12,6 +18,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // User findByEmail(String email);
     Optional<User> findByEmail(String email);
 
+    // only replaces the hash it was computed from (rehash on login)
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordHash(@Param("id") Long id,
+                           @Param("oldHash") String oldHash,
+                           @Param("newHash") String newHash);
+
+    // SELECT ... FOR UPDATE on the user's row, serializes per-user work across nodes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> lockById(@Param("id") Long id);
+
 
 
 }
\ No newline at end of file
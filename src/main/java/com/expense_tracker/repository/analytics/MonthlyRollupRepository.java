@@ -0,0 +1,104 @@
+package com.expense_tracker.repository.analytics;
+
+import com.expense_tracker.model.TransactionType;
+import com.expense_tracker.model.analytics.MonthlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, Long> {
+
+    // Atomic upsert of one bucket: the unique key on category_key also covers uncategorised rows
+    @Modifying
+    @Query(value = """
+            INSERT INTO monthly_rollups (user_id, year, month, category_id, category_key, type, amount, transaction_count)
+            VALUES (:userId, :year, :month, :categoryId, :categoryKey, :type, :amountDelta, :countDelta)
+            ON DUPLICATE KEY UPDATE
+                amount = amount + VALUES(amount),
+                transaction_count = transaction_count + VALUES(transaction_count)
+            """, nativeQuery = true)
+    int addToRollup(@Param("userId") Long userId,
+                    @Param("year") int year,
+                    @Param("month") int month,
+                    @Param("categoryId") Long categoryId,
+                    @Param("categoryKey") long categoryKey,
+                    @Param("type") String type,
+                    @Param("amountDelta") double amountDelta,
+                    @Param("countDelta") long countDelta);
+
+    @Query("""
+                SELECT r.type, COALESCE(SUM(r.amount), 0)
+                FROM MonthlyRollup r
+                WHERE r.user.id = :userId AND r.year = :year AND r.month = :month
+                GROUP BY r.type
+            """)
+    List<Object[]> sumByType(@Param("userId") Long userId,
+                             @Param("year") int year,
+                             @Param("month") int month);
+
+    @Query("""
+                SELECT c.name, COALESCE(SUM(r.amount), 0)
+                FROM MonthlyRollup r
+                JOIN r.category c
+                WHERE r.user.id = :userId AND r.year = :year AND r.month = :month
+                GROUP BY c.name
+            """)
+    List<Object[]> sumByCategory(@Param("userId") Long userId,
+                                 @Param("year") int year,
+                                 @Param("month") int month);
+
+    @Query("""
+                SELECT r.year, r.month,
+                       COALESCE(SUM(CASE WHEN r.type = com.expense_tracker.model.TransactionType.INCOME THEN r.amount ELSE 0 END), 0),
+                       COALESCE(SUM(CASE WHEN r.type = com.expense_tracker.model.TransactionType.EXPENSE THEN r.amount ELSE 0 END), 0)
+                FROM MonthlyRollup r
+                WHERE r.user.id = :userId
+                  AND (r.year > :fromYear OR (r.year = :fromYear AND r.month >= :fromMonth))
+                GROUP BY r.year, r.month
+                ORDER BY r.year, r.month
+            """)
+    List<Object[]> getMonthlyTrends(@Param("userId") Long userId,
+                                    @Param("fromYear") int fromYear,
+                                    @Param("fromMonth") int fromMonth);
+
+    // Transaction count for whole months [fromPeriod, toPeriod), period = year * 12 + month - 1
+    @Query("""
+                SELECT COALESCE(SUM(r.transactionCount), 0)
+                FROM MonthlyRollup r
+                WHERE r.user.id = :userId
+                  AND (:type IS NULL OR r.type = :type)
+                  AND (:categoryId IS NULL OR r.category.id = :categoryId)
+                  AND (:fromPeriod IS NULL OR r.year * 12 + r.month - 1 >= :fromPeriod)
+                  AND (:toPeriod IS NULL OR r.year * 12 + r.month - 1 < :toPeriod)
+            """)
+    long countTransactions(@Param("userId") Long userId,
+                           @Param("type") TransactionType type,
+                           @Param("categoryId") Long categoryId,
+                           @Param("fromPeriod") Integer fromPeriod,
+                           @Param("toPeriod") Integer toPeriod);
+
+    @Modifying
+    @Query("DELETE FROM MonthlyRollup r WHERE r.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM MonthlyRollup r")
+    int deleteAllRollups();
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO monthly_rollups (user_id, year, month, category_id, category_key, type, amount, transaction_count)
+            SELECT t.user_id, YEAR(t.date), MONTH(t.date), t.category_id, COALESCE(t.category_id, 0), t.type,
+                   SUM(t.amount), COUNT(*)
+            FROM transactions t
+            WHERE t.archived = false
+              AND (:userId IS NULL OR t.user_id = :userId)
+            GROUP BY t.user_id, YEAR(t.date), MONTH(t.date), t.category_id, t.type
+            """, nativeQuery = true)
+    int rebuildFromTransactions(@Param("userId") Long userId);
+}
@@ -2,8 +2,12 @@ package com.expense_tracker.repository.budget;
 
 import com.expense_tracker.model.budget.BudgetHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -12,4 +16,21 @@ public interface BudgetHistoryRepository extends JpaRepository<BudgetHistory,Lon
     List<BudgetHistory> findByUserIdOrderByYearDescMonthDesc(Long userId);
 
     List<BudgetHistory> findByMonthAndYear(int month, int year);
+
+    // RESET snapshot of a user's budgets (id <= maxBudgetId) in one INSERT ... SELECT;
+    // history ids are firstId, firstId + 1, ... from a block reserved in the pooled id table
+    @Modifying
+    @Query(value = """
+                INSERT INTO budget_history
+                    (id, original_budget_id, amount, spent, month, year, category_id, user_id, type, archived_at)
+                SELECT :firstId + ROW_NUMBER() OVER (ORDER BY b.id) - 1,
+                       b.id, b.amount, b.spent, b.month, b.year, b.category_id, b.user_id, 'RESET', :archivedAt
+                FROM budgets b
+                WHERE b.user_id = :userId
+                  AND b.id <= :maxBudgetId
+            """, nativeQuery = true)
+    int archiveForReset(@Param("userId") Long userId,
+                        @Param("maxBudgetId") Long maxBudgetId,
+                        @Param("firstId") long firstId,
+                        @Param("archivedAt") LocalDateTime archivedAt);
 }
\ No newline at end of file
@@ -1,10 +1,15 @@
 package com.expense_tracker.repository.budget;
 
 import com.expense_tracker.model.budget.Budget;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +25,20 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
 
     List<Budget> findByUserId(Long userId);
 
+    @Query("SELECT MAX(b.id) FROM Budget b WHERE b.user.id = :userId")
+    Long findMaxIdByUserId(@Param("userId") Long userId);
+
+    long countByUserIdAndIdLessThanEqual(Long userId, Long maxId);
+
+    // the spent so far moves into spentOffset, so reconciliation keeps counting from the reset
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+                UPDATE Budget b
+                SET b.spentOffset = b.spentOffset + b.spent, b.spent = 0
+                WHERE b.user.id = :userId AND b.id <= :maxBudgetId
+            """)
+    int resetSpent(@Param("userId") Long userId, @Param("maxBudgetId") Long maxBudgetId);
+
     List<Budget> findByUserIdAndMonthAndYear(
             Long userId,
             Integer month,
@@ -32,5 +51,81 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
             """)
     List<Budget> findByMonthAndYear(int month, int year);
 
+    @Query("""
+                SELECT MIN(b.user.id), MAX(b.user.id)
+                FROM Budget b
+                WHERE b.month = :month AND b.year = :year
+            """)
+    List<Object[]> findUserIdRange(@Param("month") int month, @Param("year") int year);
+
+    // Keyset page over (user id, budget id) inside one user id partition
+    // (user and category fetch-joined: they are EAGER and would otherwise be loaded per row)
+    @Query("""
+                SELECT b FROM Budget b
+                JOIN FETCH b.user
+                LEFT JOIN FETCH b.category
+                WHERE b.month = :month AND b.year = :year
+                  AND b.user.id BETWEEN :fromUserId AND :toUserId
+                  AND (b.user.id > :afterUserId OR (b.user.id = :afterUserId AND b.id > :afterId))
+                ORDER BY b.user.id, b.id
+            """)
+    List<Budget> findRolloverChunk(@Param("month") int month,
+                                   @Param("year") int year,
+                                   @Param("fromUserId") Long fromUserId,
+                                   @Param("toUserId") Long toUserId,
+                                   @Param("afterUserId") Long afterUserId,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
+
+    // Locks the rows of a rollover chunk that still belong to the period (id, spent):
+    // a row another run already moved is no longer returned, so it is never archived twice
+    @Query(value = """
+                SELECT b.id, b.spent FROM budgets b
+                WHERE b.id IN (:ids) AND b.month = :month AND b.year = :year
+                FOR UPDATE
+            """, nativeQuery = true)
+    List<Object[]> lockForRollover(@Param("ids") Collection<Long> ids,
+                                   @Param("month") int month,
+                                   @Param("year") int year);
+
+    // (userId, categoryId) of the budgets that already exist for a period
+    @Query("""
+                SELECT b.user.id, c.id
+                FROM Budget b
+                LEFT JOIN b.category c
+                WHERE b.month = :month AND b.year = :year AND b.user.id IN :userIds
+            """)
+    List<Object[]> findBudgetKeys(@Param("month") int month,
+                                  @Param("year") int year,
+                                  @Param("userIds") Collection<Long> userIds);
+
+    // Apply a signed spent delta to the category budget and the overall budget in one statement
+    @Modifying
+    @Query("""
+                UPDATE Budget b
+                SET b.spent = b.spent + :delta
+                WHERE b.user.id = :userId
+                  AND b.month = :month
+                  AND b.year = :year
+                  AND (b.category.id = :categoryId OR b.category IS NULL)
+            """)
+    int addToSpent(@Param("userId") Long userId,
+                   @Param("month") int month,
+                   @Param("year") int year,
+                   @Param("categoryId") Long categoryId,
+                   @Param("delta") double delta);
+
+    // Current spent straight from the database (a managed Budget may predate addToSpent)
+    @Query("SELECT b.spent FROM Budget b WHERE b.id = :id")
+    Double findSpentById(@Param("id") Long id);
+
+    // Write a reconciled spent only if no delta was applied since it was read
+    @Transactional
+    @Modifying
+    @Query("""
+                UPDATE Budget b SET b.spent = :actual
+                WHERE b.id = :id AND (b.spent = :stored OR (b.spent IS NULL AND :stored IS NULL))
+            """)
+    int correctSpent(@Param("id") Long id, @Param("stored") Double stored, @Param("actual") double actual);
 
 }
\ No newline at end of file
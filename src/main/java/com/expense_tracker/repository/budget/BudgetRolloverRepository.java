@@ -0,0 +1,57 @@
+package com.expense_tracker.repository.budget;
+
+import com.expense_tracker.model.budget.BudgetRollover;
+import com.expense_tracker.model.budget.BudgetRolloverStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BudgetRolloverRepository extends JpaRepository<BudgetRollover, String> {
+
+    // Records that the rollover of a period has begun (duplicate key when it already is)
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO budget_rollovers (period, status, started_at) VALUES (:period, 'STARTED', :now)",
+            nativeQuery = true)
+    int insertStarted(@Param("period") String period, @Param("now") LocalDateTime now);
+
+    // Lease for an unfinished period; 0 when it is finished or another run holds it
+    @Transactional
+    @Modifying
+    @Query("""
+                UPDATE BudgetRollover r
+                SET r.leaseOwner = :owner, r.leaseUntil = :until
+                WHERE r.period = :period
+                  AND r.status = com.expense_tracker.model.budget.BudgetRolloverStatus.STARTED
+                  AND (r.leaseUntil IS NULL OR r.leaseUntil < :now)
+            """)
+    int acquire(@Param("period") String period,
+                @Param("owner") String owner,
+                @Param("until") LocalDateTime until,
+                @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+                UPDATE BudgetRollover r
+                SET r.status = com.expense_tracker.model.budget.BudgetRolloverStatus.COMPLETED,
+                    r.completedAt = :now, r.leaseOwner = NULL, r.leaseUntil = NULL
+                WHERE r.period = :period AND r.leaseOwner = :owner
+            """)
+    int complete(@Param("period") String period, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    // Gives an unfinished period back so the next catch-up can resume it right away
+    @Transactional
+    @Modifying
+    @Query("UPDATE BudgetRollover r SET r.leaseOwner = NULL, r.leaseUntil = NULL WHERE r.period = :period AND r.leaseOwner = :owner")
+    int release(@Param("period") String period, @Param("owner") String owner);
+
+    List<BudgetRollover> findByStatusOrderByPeriodDesc(BudgetRolloverStatus status);
+}
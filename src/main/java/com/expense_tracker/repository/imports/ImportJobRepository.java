@@ -0,0 +1,117 @@
+package com.expense_tracker.repository.imports;
+
+import com.expense_tracker.model.imports.ImportJob;
+import com.expense_tracker.model.imports.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    Optional<ImportJob> findByIdAndUserId(Long id, Long userId);
+
+    List<ImportJob> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    long countByUserIdAndStatusIn(Long userId, Collection<ImportJobStatus> statuses);
+
+    // progress after each batch, without loading the job
+    @Transactional
+    @Modifying
+    @Query("""
+                UPDATE ImportJob j
+                SET j.processedRows = :processed,
+                    j.importedRows = :imported,
+                    j.skippedRows = :skipped
+                WHERE j.id = :id
+            """)
+    int updateProgress(@Param("id") Long id,
+                       @Param("processed") long processed,
+                       @Param("imported") long imported,
+                       @Param("skipped") long skipped);
+
+    @Transactional
+    @Modifying
+    @Query("""
+                UPDATE ImportJob j
+                SET j.status = com.expense_tracker.model.imports.ImportJobStatus.RUNNING,
+                    j.startedAt = :now,
+                    j.heartbeatAt = :now
+                WHERE j.id = :id
+                  AND j.ownerNode = :owner
+                  AND j.status = com.expense_tracker.model.imports.ImportJobStatus.QUEUED
+            """)
+    int markRunning(@Param("id") Long id, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    // 0 when the job is no longer RUNNING on this node (failed as stale meanwhile)
+    @Transactional
+    @Modifying
+    @Query("""
+                UPDATE ImportJob j
+                SET j.status = com.expense_tracker.model.imports.ImportJobStatus.COMPLETED,
+                    j.rowErrors = :rowErrors,
+                    j.completedAt = :now
+                WHERE j.id = :id
+                  AND j.ownerNode = :owner
+                  AND j.status = com.expense_tracker.model.imports.ImportJobStatus.RUNNING
+            """)
+    int markCompleted(@Param("id") Long id,
+                      @Param("owner") String owner,
+                      @Param("rowErrors") String rowErrors,
+                      @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+                UPDATE ImportJob j
+                SET j.status = com.expense_tracker.model.imports.ImportJobStatus.FAILED,
+                    j.errorMessage = :reason,
+                    j.rowErrors = :rowErrors,
+                    j.completedAt = :now
+                WHERE j.id = :id
+                  AND j.ownerNode = :owner
+                  AND j.status IN :statuses
+            """)
+    int markFailed(@Param("id") Long id,
+                   @Param("owner") String owner,
+                   @Param("statuses") Collection<ImportJobStatus> statuses,
+                   @Param("reason") String reason,
+                   @Param("rowErrors") String rowErrors,
+                   @Param("now") LocalDateTime now);
+
+    // owner is alive: keep its queued/running jobs from being failed as stale
+    @Transactional
+    @Modifying
+    @Query("""
+                UPDATE ImportJob j
+                SET j.heartbeatAt = :now
+                WHERE j.ownerNode = :owner AND j.status IN :statuses
+            """)
+    int heartbeat(@Param("owner") String owner,
+                  @Param("statuses") Collection<ImportJobStatus> statuses,
+                  @Param("now") LocalDateTime now);
+
+    // queued/running jobs whose owner stopped sending heartbeats (node crashed or restarted) can never finish
+    @Transactional
+    @Modifying
+    @Query("""
+                UPDATE ImportJob j
+                SET j.status = com.expense_tracker.model.imports.ImportJobStatus.FAILED,
+                    j.errorMessage = :reason,
+                    j.completedAt = :now
+                WHERE j.status IN :statuses
+                  AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore)
+            """)
+    int failStale(@Param("statuses") Collection<ImportJobStatus> statuses,
+                  @Param("staleBefore") LocalDateTime staleBefore,
+                  @Param("reason") String reason,
+                  @Param("now") LocalDateTime now);
+}
@@ -2,6 +2,9 @@ package com.expense_tracker.repository.notification;
 
 import com.expense_tracker.model.notification.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,4 +14,9 @@ public interface NotificationsRepository extends JpaRepository<Notification, Lon
 
     List<Notification> findByUserIdAndReadFalseOrderByCreatedAtDesc(Long userId);
 
+    // one UPDATE for all of a user's unread notifications (no entities loaded)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.read = true WHERE n.user.id = :userId AND n.read = false")
+    int markAllAsRead(@Param("userId") Long userId);
+
 }
\ No newline at end of file
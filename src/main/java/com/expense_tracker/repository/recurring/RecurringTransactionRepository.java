@@ -1,18 +1,97 @@
 package com.expense_tracker.repository.recurring;
 
+import com.expense_tracker.dto.recurring.RecurringReminderDTO;
 import com.expense_tracker.model.recurring.RecurringTransaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface RecurringTransactionRepository extends JpaRepository<RecurringTransaction, Long> {
 
-    List<RecurringTransaction> findByNextExecutionDateLessThanEqual(LocalDate date);
+    // id + next execution date of every item, loaded into the timing wheel at startup
+    @Query("SELECT r.id, r.nextExecutionDate FROM RecurringTransaction r WHERE r.nextExecutionDate IS NOT NULL")
+    List<Object[]> findSchedule();
+
+    // Items due up to :until (idx_recurring_next_execution), for the periodic wheel rescan
+    @Query("SELECT r.id, r.nextExecutionDate FROM RecurringTransaction r WHERE r.nextExecutionDate <= :until")
+    List<Object[]> findScheduleUntil(@Param("until") LocalDate until);
+
+    @Query("SELECT r.id, r.nextExecutionDate FROM RecurringTransaction r WHERE r.id IN :ids")
+    List<Object[]> findScheduleByIds(@Param("ids") Collection<Long> ids);
+
+    // Due items whose lease is free or expired (items without a frequency can never advance, so never due)
+    @Query("""
+                SELECT r.id FROM RecurringTransaction r
+                WHERE r.nextExecutionDate <= :today
+                  AND r.frequency IS NOT NULL
+                  AND (r.leaseUntil IS NULL OR r.leaseUntil < :now)
+                ORDER BY r.id
+            """)
+    List<Long> findClaimableIds(@Param("today") LocalDate today,
+                                @Param("now") LocalDateTime now,
+                                Pageable pageable);
+
+    // Atomic claim: rows leased by another node in the meantime are not touched
+    @Modifying
+    @Query("""
+                UPDATE RecurringTransaction r
+                SET r.leaseOwner = :owner, r.leaseUntil = :until
+                WHERE r.id IN :ids
+                  AND r.nextExecutionDate <= :today
+                  AND r.frequency IS NOT NULL
+                  AND (r.leaseUntil IS NULL OR r.leaseUntil < :now)
+            """)
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("owner") String owner,
+              @Param("until") LocalDateTime until,
+              @Param("today") LocalDate today,
+              @Param("now") LocalDateTime now);
+
+    List<RecurringTransaction> findByLeaseOwnerAndIdIn(String leaseOwner, Collection<Long> ids);
+
+    // Fenced completion: only the lease owner can advance the schedule, and only once
+    @Modifying
+    @Query("""
+                UPDATE RecurringTransaction r
+                SET r.nextExecutionDate = :next, r.leaseOwner = NULL, r.leaseUntil = NULL
+                WHERE r.id = :id
+                  AND r.leaseOwner = :owner
+                  AND r.nextExecutionDate = :expected
+            """)
+    int completeExecution(@Param("id") Long id,
+                          @Param("owner") String owner,
+                          @Param("expected") LocalDate expected,
+                          @Param("next") LocalDate next);
+
+
+    // Items due on :date for users whose reminder lead time is :leadDays (idx_recurring_next_execution),
+    // one keyset page over (user id, item id) per call
+    @Query("""
+                SELECT new com.expense_tracker.dto.recurring.RecurringReminderDTO(
+                    u.id, u.name, u.email, r.amount, c.name, r.nextExecutionDate, r.id)
+                FROM RecurringTransaction r
+                JOIN r.user u
+                LEFT JOIN r.category c
+                WHERE r.nextExecutionDate = :date
+                  AND COALESCE(u.reminderLeadDays, :defaultLeadDays) = :leadDays
+                  AND (u.id > :afterUserId OR (u.id = :afterUserId AND r.id > :afterId))
+                ORDER BY u.id, r.id
+            """)
+    List<RecurringReminderDTO> findReminders(@Param("date") LocalDate date,
+                                             @Param("leadDays") int leadDays,
+                                             @Param("defaultLeadDays") int defaultLeadDays,
+                                             @Param("afterUserId") Long afterUserId,
+                                             @Param("afterId") Long afterId,
+                                             Pageable pageable);
 
     @Query("SELECT r FROM RecurringTransaction r WHERE r.nextExecutionDate = :tomorrow")
     List<RecurringTransaction> findDueTomorrow(@Param("tomorrow") LocalDate tomorrow);
@@ -0,0 +1,104 @@
+package com.expense_tracker.repository.reports;
+
+import com.expense_tracker.model.reports.ReportJob;
+import com.expense_tracker.model.reports.ReportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+
+    Optional<ReportJob> findByIdAndUserId(Long id, Long userId);
+
+    List<ReportJob> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    long countByUserIdAndStatusIn(Long userId, Collection<ReportJobStatus> statuses);
+
+    List<ReportJob> findByCreatedAtBefore(LocalDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("""
+                UPDATE ReportJob j
+                SET j.status = com.expense_tracker.model.reports.ReportJobStatus.RUNNING,
+                    j.startedAt = :now,
+                    j.heartbeatAt = :now
+                WHERE j.id = :id
+                  AND j.ownerNode = :owner
+                  AND j.status = com.expense_tracker.model.reports.ReportJobStatus.QUEUED
+            """)
+    int markRunning(@Param("id") Long id, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    // 0 when the job is no longer RUNNING on this node (failed as stale meanwhile)
+    @Transactional
+    @Modifying
+    @Query("""
+                UPDATE ReportJob j
+                SET j.status = com.expense_tracker.model.reports.ReportJobStatus.COMPLETED,
+                    j.filePath = :filePath,
+                    j.fileSize = :fileSize,
+                    j.completedAt = :now
+                WHERE j.id = :id
+                  AND j.ownerNode = :owner
+                  AND j.status = com.expense_tracker.model.reports.ReportJobStatus.RUNNING
+            """)
+    int markCompleted(@Param("id") Long id,
+                      @Param("owner") String owner,
+                      @Param("filePath") String filePath,
+                      @Param("fileSize") Long fileSize,
+                      @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+                UPDATE ReportJob j
+                SET j.status = com.expense_tracker.model.reports.ReportJobStatus.FAILED,
+                    j.errorMessage = :reason,
+                    j.completedAt = :now
+                WHERE j.id = :id
+                  AND j.ownerNode = :owner
+                  AND j.status IN :statuses
+            """)
+    int markFailed(@Param("id") Long id,
+                   @Param("owner") String owner,
+                   @Param("statuses") Collection<ReportJobStatus> statuses,
+                   @Param("reason") String reason,
+                   @Param("now") LocalDateTime now);
+
+    // owner is alive: keep its queued/running jobs from being failed as stale
+    @Transactional
+    @Modifying
+    @Query("""
+                UPDATE ReportJob j
+                SET j.heartbeatAt = :now
+                WHERE j.ownerNode = :owner AND j.status IN :statuses
+            """)
+    int heartbeat(@Param("owner") String owner,
+                  @Param("statuses") Collection<ReportJobStatus> statuses,
+                  @Param("now") LocalDateTime now);
+
+    // queued/running jobs whose owner stopped sending heartbeats (node crashed or restarted) can never finish
+    @Transactional
+    @Modifying
+    @Query("""
+                UPDATE ReportJob j
+                SET j.status = com.expense_tracker.model.reports.ReportJobStatus.FAILED,
+                    j.errorMessage = :reason,
+                    j.completedAt = :now
+                WHERE j.status IN :statuses
+                  AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore)
+            """)
+    int failStale(@Param("statuses") Collection<ReportJobStatus> statuses,
+                  @Param("staleBefore") LocalDateTime staleBefore,
+                  @Param("reason") String reason,
+                  @Param("now") LocalDateTime now);
+}
@@ -1,10 +1,10 @@
 package com.expense_tracker.security;
 
 import com.expense_tracker.model.RefreshToken;
-import com.expense_tracker.model.User;
 import com.expense_tracker.repository.RefreshTokenRepository;
-import com.expense_tracker.repository.UserRepository;
 import com.expense_tracker.utility.ApiErrorResponseWriter;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -28,7 +28,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
     private final RefreshTokenRepository refreshTokenRepository;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -46,40 +46,58 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String jwt = authHeader.substring(7);
-        String username = jwtService.extractUserName(jwt);
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            // 0️⃣ Hot token → principal was already validated, skip parsing and DB lookups
+            UserDetails userDetails = principalCache.get(jwt);
 
-            // 1️⃣ Validate access token
-            if (!jwtService.isTokenValid(jwt, userDetails.getUsername())) {
-                ApiErrorResponseWriter.write(
-                        response,
-                        "Invalid or expired token. Please login again.",
-                        HttpServletResponse.SC_UNAUTHORIZED
-                );
-                return;
-            }
+            if (userDetails == null) {
+                Claims claims;
+                try {
+                    claims = jwtService.parseValidClaims(jwt); // parsed and verified once
+                } catch (JwtException | IllegalArgumentException e) {
+                    ApiErrorResponseWriter.write(
+                            response,
+                            "Invalid or expired token. Please login again.",
+                            HttpServletResponse.SC_UNAUTHORIZED
+                    );
+                    return;
+                }
+                String username = claims.getSubject();
 
+                if (username == null) {
+                    filterChain.doFilter(request, response);
+                    return;
+                }
 
-            // 2️⃣ Load User entity (important!)
-            User userEntity = userRepository.findByEmail(username).orElse(null);
+                userDetails = userDetailsService.loadUserByUsername(username);
 
-            if (userEntity != null) {
+                // 1️⃣ Validate access token
+                if (!jwtService.isTokenValid(claims, userDetails.getUsername())) {
+                    ApiErrorResponseWriter.write(
+                            response,
+                            "Invalid or expired token. Please login again.",
+                            HttpServletResponse.SC_UNAUTHORIZED
+                    );
+                    return;
+                }
+
+                // 2️⃣ If refresh token REVOKED → logout should block all future requests
                 Optional<RefreshToken> refreshToken =
-                        refreshTokenRepository.findTopByUserOrderByIdDesc(userEntity);
+                        refreshTokenRepository.findTopByUserEmailOrderByIdDesc(username);
 
-                // 3️⃣ If refresh token REVOKED → logout should block all future requests
                 if (refreshToken.isPresent() && refreshToken.get().isRevoked()) {
                     ApiErrorResponseWriter.write(response,
                             "Token revoked. Please login again.",
                             HttpServletResponse.SC_UNAUTHORIZED);
                     return;
                 }
+
+                principalCache.put(jwt, userDetails, claims.getExpiration().getTime());
             }
 
-            // 4️⃣ Token valid → authenticate user
+            // 3️⃣ Token valid → authenticate user
             UsernamePasswordAuthenticationToken authToken =
                     new UsernamePasswordAuthenticationToken(
                             userDetails,
@@ -1,6 +1,7 @@
 package com.expense_tracker.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -20,10 +21,12 @@ public class JwtService {
     private static final long EXPIRATION_MS = 1000 * 60 * 60 * 10; // 10 hours
 
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Base64.getDecoder().decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
+    // built once: the key and the parser are immutable and thread-safe
+    private final Key signInKey = Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET_KEY));
+
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(signInKey)
+            .build();
 
     public String extractUserName(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -35,11 +38,13 @@ public class JwtService {
     }
 
     public Claims extractAllClaim(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parseValidClaims(token);
+    }
+
+    // Parse-once API: verifies the signature and expiry, then returns all claims.
+    // Throws a JwtException (e.g. ExpiredJwtException) if the token is not valid.
+    public Claims parseValidClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public String generateToken(String username) {
@@ -50,7 +55,7 @@ public class JwtService {
                 .setSubject(username)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_MS))  // 10 hours
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -58,13 +63,13 @@ public class JwtService {
         return EXPIRATION_MS / 1000;
     }
 
-    public boolean isTokenValid(String token, String username) {
-        final String extractedUsername = extractUserName(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+    // Same check on already-parsed claims, so callers only parse the token once
+    public boolean isTokenValid(Claims claims, String username) {
+        return username.equals(claims.getSubject()) && !claims.getExpiration().before(new Date());
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
+    public boolean isTokenValid(String token, String username) {
+        return isTokenValid(parseValidClaims(token), username);
     }
 
 }
\ No newline at end of file
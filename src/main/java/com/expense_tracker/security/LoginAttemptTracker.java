@@ -0,0 +1,207 @@
+package com.expense_tracker.security;
+
+import com.expense_tracker.constants.SecurityConstants;
+import com.expense_tracker.model.User;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Failed-login tracking without a users row update per attempt.
+ *
+ * Failures are kept in memory per user (sliding window of the last MAX_FAILED_ATTEMPTS
+ * timestamps) and lockout is decided immediately from that state. Updates go through
+ * ConcurrentHashMap.compute, so contention is per key, never global. Changed users are
+ * written behind in one JDBC batch (failed_attempts, account_locked, lock_time): that
+ * row is the persisted snapshot used after a restart and by the other nodes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoginAttemptTracker {
+
+    private static final String WRITE_STATE =
+            "UPDATE users SET failed_attempts = ?, account_locked = ?, lock_time = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.security.login-attempts.window-minutes:15}")  // failures older than this are forgotten
+    private long windowMinutes;
+
+    private final Map<Long, AttemptState> states = new ConcurrentHashMap<>();
+
+    // Current lock decision; falls back to the persisted snapshot for users not tracked here
+    public boolean isLocked(User user) {
+        long now = System.currentTimeMillis();
+        AttemptState state = states.get(user.getId());
+        if (state != null && state.isLocked(now)) {
+            return true;
+        }
+        return persistedLockUntil(user) > now;
+    }
+
+    // Records a failed attempt, returns true when it locks the account
+    public boolean recordFailure(User user) {
+        long now = System.currentTimeMillis();
+        long windowMs = TimeUnit.MINUTES.toMillis(windowMinutes);
+        long lockMs = TimeUnit.MINUTES.toMillis(SecurityConstants.LOCK_TIME_DURATION);
+
+        AttemptState state = states.compute(user.getId(), (id, current) -> {
+            AttemptState s = current != null ? current : AttemptState.restore(user, now);
+            s.fail(now, windowMs, lockMs);
+            return s;
+        });
+        return state.isLocked(now);
+    }
+
+    public void recordSuccess(User user) {
+        states.compute(user.getId(), (id, current) -> {
+            if (current == null && user.getFailedAttempts() == 0 && !user.isAccountLocked()) {
+                return null; // nothing to reset, nothing to write
+            }
+            AttemptState s = current != null ? current : new AttemptState();
+            s.reset();
+            return s;
+        });
+    }
+
+    // Write-behind: every few seconds, one batch for all users whose state changed.
+    // A user stays dirty (and tracked) until a write of its latest state succeeds.
+    @Scheduled(fixedDelayString = "${app.security.login-attempts.flush-ms:5000}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        long windowMs = TimeUnit.MINUTES.toMillis(windowMinutes);
+        List<Object[]> rows = new ArrayList<>();
+        Map<Long, Long> versions = new HashMap<>();
+
+        states.forEach((id, state) -> states.compute(id, (key, s) -> {
+            if (s == null) return null;
+            s.expire(now, windowMs);
+            if (s.dirty) {
+                rows.add(s.snapshot(key));
+                versions.put(key, s.version);
+            }
+            return s.isIdle(now) ? null : s; // clean and empty -> stop tracking
+        }));
+
+        if (rows.isEmpty()) return;
+
+        try {
+            jdbcTemplate.batchUpdate(WRITE_STATE, rows);
+        } catch (Exception e) {
+            // still dirty, the next flush writes them again
+            log.error("[AUTH] [ATTEMPTS] Flushing login state of {} users failed", rows.size(), e);
+            return;
+        }
+
+        // clean unless the state changed again while it was being written
+        versions.forEach((id, version) -> states.computeIfPresent(id, (key, s) -> {
+            if (s.version == version) s.dirty = false;
+            return s.isIdle(System.currentTimeMillis()) ? null : s;
+        }));
+        log.debug("[AUTH] [ATTEMPTS] Flushed login state of {} users", rows.size());
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    /* Helper: lock expiry from the users row (0 when not locked) */
+    private static long persistedLockUntil(User user) {
+        if (!user.isAccountLocked() || user.getLockTime() == null) return 0;
+        return toMillis(user.getLockTime()) + TimeUnit.MINUTES.toMillis(SecurityConstants.LOCK_TIME_DURATION);
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // Guarded by the map's per-key compute
+    private static final class AttemptState {
+        final ArrayDeque<Long> failures = new ArrayDeque<>();
+        long lockedAt;     // 0 when not locked
+        long lockedUntil;
+        boolean dirty;
+        long version;      // bumped on every change, tells a flushed snapshot from a newer state
+
+        // the persisted counter has no timestamps, its failures count from now
+        static AttemptState restore(User user, long now) {
+            AttemptState s = new AttemptState();
+            for (int i = 0; i < Math.min(user.getFailedAttempts(), SecurityConstants.MAX_FAILED_ATTEMPTS - 1); i++) {
+                s.failures.add(now);
+            }
+            long until = persistedLockUntil(user);
+            if (until > now) {
+                s.lockedAt = toMillis(user.getLockTime());
+                s.lockedUntil = until;
+            }
+            return s;
+        }
+
+        void fail(long now, long windowMs, long lockMs) {
+            expire(now, windowMs);
+            failures.addLast(now);
+            if (failures.size() >= SecurityConstants.MAX_FAILED_ATTEMPTS && !isLocked(now)) {
+                lockedAt = now;
+                lockedUntil = now + lockMs;
+            }
+            markDirty();
+        }
+
+        void reset() {
+            failures.clear();
+            lockedAt = 0;
+            lockedUntil = 0;
+            markDirty();
+        }
+
+        void expire(long now, long windowMs) {
+            while (!failures.isEmpty() && failures.peekFirst() <= now - windowMs) {
+                failures.removeFirst();
+            }
+            if (lockedAt != 0 && lockedUntil <= now) {
+                // lock ran out: start over, like the old unlockWhenTimeExpired
+                failures.clear();
+                lockedAt = 0;
+                lockedUntil = 0;
+                markDirty();
+            }
+        }
+
+        void markDirty() {
+            dirty = true;
+            version++;
+        }
+
+        boolean isLocked(long now) {
+            return lockedUntil > now;
+        }
+
+        boolean isIdle(long now) {
+            return !dirty && failures.isEmpty() && !isLocked(now);
+        }
+
+        Object[] snapshot(Long userId) {
+            boolean locked = lockedAt != 0;
+            Timestamp lockTime = locked ? Timestamp.from(Instant.ofEpochMilli(lockedAt)) : null;
+            return new Object[]{failures.size(), locked, lockTime, userId};
+        }
+    }
+}
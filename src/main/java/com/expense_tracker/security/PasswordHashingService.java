@@ -0,0 +1,137 @@
+package com.expense_tracker.security;
+
+import com.expense_tracker.exception.ServiceUnavailableException;
+import com.expense_tracker.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * All BCrypt work (hash on register / password change, verify on login) runs on a
+ * small dedicated pool sized to the cores we want to give it. Its queue is bounded:
+ * when it is full the request is shed with 503 straight away instead of piling up
+ * CPU-bound work on Tomcat threads, so a login spike cannot starve cheap endpoints.
+ *
+ * Metrics: password.hash (timer per op, with histogram), password.hash.queue (depth)
+ * and password.hash.rejected.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.security.hashing.pool-size:0}")  // 0 -> number of cores
+    private int poolSize;
+
+    @Value("${app.security.hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${app.security.hashing.timeout-ms:5000}")  // max wait incl. queueing
+    private long timeoutMs;
+
+    private ThreadPoolExecutor executor;
+    private Timer encodeTimer;
+    private Timer matchesTimer;
+
+    @PostConstruct
+    void init() {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> new Thread(r, "password-hash-" + counter.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        encodeTimer = hashTimer("encode");
+        matchesTimer = hashTimer("matches");
+        Gauge.builder("password.hash.queue", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public String encode(String rawPassword) {
+        return submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    // After a successful login: move hashes made with an older cost factor to the current one.
+    // Runs in the background and only if the pool has room; otherwise the next login retries.
+    public void upgradeIfNeeded(Long userId, String rawPassword, String encodedPassword) {
+        if (!passwordEncoder.upgradeEncoding(encodedPassword)) return;
+
+        try {
+            executor.execute(() -> {
+                try {
+                    String upgraded = encodeTimer.record(() -> passwordEncoder.encode(rawPassword));
+                    // compare-and-set, a concurrent password change wins
+                    if (userRepository.updatePasswordHash(userId, encodedPassword, upgraded) > 0) {
+                        log.info("[AUTH] [HASH] Upgraded password hash of user {}", userId);
+                    }
+                } catch (Exception e) {
+                    log.warn("[AUTH] [HASH] Upgrading password hash of user {} failed: {}", userId, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("[AUTH] [HASH] Pool busy, hash upgrade of user {} deferred", userId);
+        }
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("password.hash.rejected").increment();
+            throw new ServiceUnavailableException("Server is busy, please try again shortly");
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            meterRegistry.counter("password.hash.rejected").increment();
+            throw new ServiceUnavailableException("Server is busy, please try again shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Request interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private Timer hashTimer(String op) {
+        return Timer.builder("password.hash")
+                .tag("op", op)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,206 @@
+package com.expense_tracker.security;
+
+import com.expense_tracker.config.cache.CacheInvalidationBus;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Principals resolved by JwtAuthenticationFilter, keyed by a SHA-256 digest of the
+ * access token (the raw bearer token is never kept). A hit skips JWT parsing and the
+ * user / refresh-token lookups entirely. Cached principals carry no password hash.
+ *
+ * Entries expire after the configured TTL (or the token expiry, if sooner) and are
+ * dropped explicitly when a user's refresh token is revoked, the role or password
+ * changes, the account is locked or the user is deleted. tokensByUser indexes the
+ * entries per username so that takes one lookup instead of a scan; both maps are
+ * only changed together inside tokensByUser.compute for that username.
+ *
+ * The cache is per node. With Redis enabled (app.cache.redis.enabled) invalidations
+ * are broadcast to the other nodes over the CacheInvalidationBus. Without Redis they
+ * stay local, so another node may accept a revoked principal until its entry expires;
+ * the TTL is then capped at standalone-ttl-seconds (a few seconds) to keep that short.
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    private record Entry(UserDetails userDetails, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    private static final String CACHE_NAME = "principals";
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<String>> tokensByUser = new ConcurrentHashMap<>();
+
+    private final CacheInvalidationBus bus; // null without Redis
+
+    @Value("${app.security.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${app.security.principal-cache.standalone-ttl-seconds:5}")  // TTL when invalidations are not broadcast
+    private long standaloneTtlSeconds;
+
+    @Value("${app.security.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    public PrincipalCache(ObjectProvider<CacheInvalidationBus> invalidationBus) {
+        this.bus = invalidationBus.getIfAvailable();
+    }
+
+    @PostConstruct
+    void subscribe() {
+        if (bus == null) {
+            ttlSeconds = Math.min(ttlSeconds, standaloneTtlSeconds);
+            return;
+        }
+
+        bus.subscribe(CACHE_NAME, new CacheInvalidationBus.LocalCache() {
+            @Override
+            public void evictLocal(String username) {
+                removeUser(username);
+            }
+
+            @Override
+            public void clearLocal() {
+                removeAll();
+            }
+        });
+    }
+
+    public UserDetails get(String token) {
+        String key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry == null) return null;
+
+        if (entry.isExpired(System.currentTimeMillis())) {
+            remove(key, entry);
+            return null;
+        }
+        return entry.userDetails();
+    }
+
+    public void put(String token, UserDetails userDetails, long tokenExpiresAt) {
+        long now = System.currentTimeMillis();
+        if (entries.size() >= maxSize) {
+            purgeExpired(now);
+            if (entries.size() >= maxSize) return; // full of live entries, fall back to DB lookups
+        }
+
+        String key = digest(token);
+        Entry entry = new Entry(withoutPassword(userDetails), Math.min(now + ttlSeconds * 1000, tokenExpiresAt));
+        tokensByUser.compute(userDetails.getUsername(), (username, keys) -> {
+            Set<String> tokens = keys != null ? keys : new HashSet<>();
+            tokens.add(key);
+            entries.put(key, entry);
+            return tokens;
+        });
+    }
+
+    // Drop every cached token of this user, on every node (after the surrounding transaction
+    // commits, so a concurrent request cannot re-cache the pre-revocation state)
+    public void invalidateUser(String username) {
+        if (username == null) return;
+
+        removeUser(username);
+        afterCommit(() -> {
+            removeUser(username);
+            if (bus != null) bus.publishEvict(CACHE_NAME, username);
+        });
+    }
+
+    // Drop every cached principal on every node (bulk user deletion)
+    public void invalidateAll() {
+        removeAll();
+        afterCommit(() -> {
+            removeAll();
+            if (bus != null) bus.publishClear(CACHE_NAME);
+        });
+    }
+
+    // Runs every minute
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpired() {
+        purgeExpired(System.currentTimeMillis());
+    }
+
+    private void purgeExpired(long now) {
+        entries.forEach((key, entry) -> {
+            if (entry.isExpired(now)) remove(key, entry);
+        });
+    }
+
+    private void remove(String key, Entry entry) {
+        tokensByUser.computeIfPresent(entry.userDetails().getUsername(), (username, tokens) -> {
+            entries.remove(key, entry);
+            tokens.remove(key);
+            return tokens.isEmpty() ? null : tokens;
+        });
+    }
+
+    private void removeUser(String username) {
+        int[] removed = {0};
+        tokensByUser.computeIfPresent(username, (name, tokens) -> {
+            tokens.forEach(entries::remove);
+            removed[0] = tokens.size();
+            return null;
+        });
+        log.debug("[AUTH] [CACHE] Invalidated {} cached principals for {}", removed[0], username);
+    }
+
+    private void removeAll() {
+        tokensByUser.keySet().forEach(this::removeUser);
+    }
+
+    /* Helper: runs the action after the current transaction commits, or right away without one */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /* Helper: only the username and authorities are needed once the token is validated */
+    private static UserDetails withoutPassword(UserDetails userDetails) {
+        return User.withUsername(userDetails.getUsername())
+                .password("")
+                .authorities(userDetails.getAuthorities())
+                .build();
+    }
+
+    /* Helper: SHA-256 of the token, hex encoded */
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,38 +1,91 @@
 package com.expense_tracker.security;
 
-
+import com.expense_tracker.config.RateLimitProperties;
+import com.expense_tracker.security.ratelimit.RateLimitStore;
+import com.expense_tracker.utility.ApiErrorResponseWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
+/*
+ * Token-bucket rate limiting, registered right after JwtAuthenticationFilter:
+ * authenticated requests are limited per user, anonymous ones per client IP.
+ * Limits are per route (app.rate-limit.routes), counters are published as
+ * the "rate_limit.requests" metric (tags: route, outcome).
+ */
 @Component
-public class RateLimitingFilter {
-
-//public class RateLimitingFilter extends OncePerRequestFilter {
-
-//    // Map to hold user-specific buckets (or IP-specific)
-//    private final Map<String, Bucket> cache = new ConcurrentHashMap<>();
-//
-//    private Bucket resolveBucket(String key) {
-//        return cache.computeIfAbsent(key, k -> {
-//            Bandwidth limit = Bandwidth.classic(100, Refill.greedy(100, Duration.ofMinutes(1)));
-//            Bucket bucket = Bucket.builder().addLimit(limit).build();
-//            return bucket;
-//        });
-//    }
-//
-//    @Override
-//    protected void doFilterInternal(HttpServletRequest request,
-//                                    HttpServletResponse response,
-//                                    FilterChain filterChain) throws ServletException, IOException {
-//
-//        String key = request.getRemoteAddr(); // rate limit per IP (you can also use user ID)
-//
-//        Bucket bucket = resolveBucket(key);
-//
-//        if (bucket.tryConsume(1)) {
-//            filterChain.doFilter(request, response);
-//        } else {
-//            response.setStatus(429); // Too Many Requests
-//            response.getWriter().write("Too many requests - try again later.");
-//        }
-//    }
-}
\ No newline at end of file
+@RequiredArgsConstructor
+public class RateLimitingFilter extends OncePerRequestFilter {
+
+    private static final String DEFAULT_ROUTE = "default";
+
+    private final RateLimitProperties properties;
+    private final RateLimitStore rateLimitStore;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        if (!properties.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RateLimitProperties.Route route = resolveRoute(path);
+
+        String routeName = route != null ? route.getPattern() : DEFAULT_ROUTE;
+        long capacity = route != null ? route.getCapacity() : properties.getDefaultLimit().getCapacity();
+        long refillPerMinute = route != null ? route.getRefillPerMinute() : properties.getDefaultLimit().getRefillPerMinute();
+
+        long waitNanos = rateLimitStore.tryConsume(routeName + "|" + clientKey(request), capacity, refillPerMinute);
+
+        if (waitNanos == 0) {
+            meterRegistry.counter("rate_limit.requests", "route", routeName, "outcome", "allowed").increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        meterRegistry.counter("rate_limit.requests", "route", routeName, "outcome", "rejected").increment();
+
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        ApiErrorResponseWriter.write(response,
+                "Too many requests - try again later.",
+                HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    private RateLimitProperties.Route resolveRoute(String path) {
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            if (pathMatcher.match(route.getPattern(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+            return "user:" + auth.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
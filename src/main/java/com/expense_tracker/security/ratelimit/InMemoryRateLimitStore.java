@@ -0,0 +1,68 @@
+package com.expense_tracker.security.ratelimit;
+
+import com.expense_tracker.config.RateLimitProperties;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Single-node buckets. The map is striped (ConcurrentHashMap) and Bucket4j
+ * buckets are lock-free (CAS), so concurrent requests never block each other.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private static final class Entry {
+        final Bucket bucket;
+        volatile long lastAccess = System.nanoTime();
+
+        Entry(Bucket bucket) {
+            this.bucket = bucket;
+        }
+    }
+
+    private final RateLimitProperties properties;
+    private final Map<String, Entry> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    public long tryConsume(String key, long capacity, long refillPerMinute) {
+        Entry entry = buckets.computeIfAbsent(key, k -> new Entry(newBucket(capacity, refillPerMinute)));
+        entry.lastAccess = System.nanoTime();
+
+        ConsumptionProbe probe = entry.bucket.tryConsumeAndReturnRemaining(1);
+        return probe.isConsumed() ? 0 : Math.max(1, probe.getNanosToWaitForRefill());
+    }
+
+    // Runs every minute, drops buckets of clients that went quiet
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleBuckets() {
+        long cutoff = System.nanoTime() - Duration.ofMinutes(properties.getIdleTimeoutMinutes()).toNanos();
+        int before = buckets.size();
+        buckets.values().removeIf(entry -> entry.lastAccess < cutoff);
+
+        if (before != buckets.size()) {
+            log.debug("[RATE_LIMIT] Evicted {} idle buckets", before - buckets.size());
+        }
+    }
+
+    private static Bucket newBucket(long capacity, long refillPerMinute) {
+        return Bucket.builder()
+                .addLimit(Bandwidth.builder()
+                        .capacity(capacity)
+                        .refillGreedy(refillPerMinute, Duration.ofMinutes(1))
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.expense_tracker.security.ratelimit;
+
+/*
+ * Token-bucket storage used by RateLimitingFilter.
+ */
+public interface RateLimitStore {
+
+    // Consumes one token from the bucket identified by key.
+    // Returns 0 when the request is allowed, otherwise the nanos until a token is available.
+    long tryConsume(String key, long capacity, long refillPerMinute);
+}
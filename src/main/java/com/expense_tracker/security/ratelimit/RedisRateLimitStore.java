@@ -0,0 +1,68 @@
+package com.expense_tracker.security.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Buckets shared by all instances. Refill + consume happen atomically in one
+ * Lua script using the Redis clock, so app servers do not need synchronised clocks.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "redis")
+public class RedisRateLimitStore implements RateLimitStore {
+
+    private static final String KEY_PREFIX = "expense-tracker:rate-limit:";
+
+    // KEYS[1] = bucket, ARGV[1] = capacity, ARGV[2] = tokens refilled per ms; returns ms to wait (0 = allowed)
+    private static final RedisScript<Long> TOKEN_BUCKET = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local refill_per_ms = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * refill_per_ms)
+
+            local wait = 0
+            if tokens >= 1 then
+                tokens = tokens - 1
+            else
+                wait = math.ceil((1 - tokens) / refill_per_ms)
+            end
+
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / refill_per_ms) + 1000)
+            return wait
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisRateLimitStore(RedisConnectionFactory connectionFactory) {
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @Override
+    public long tryConsume(String key, long capacity, long refillPerMinute) {
+        double refillPerMs = refillPerMinute / 60_000.0;
+        try {
+            Long waitMs = redisTemplate.execute(TOKEN_BUCKET, List.of(KEY_PREFIX + key),
+                    String.valueOf(capacity), String.valueOf(refillPerMs));
+            return waitMs == null || waitMs == 0 ? 0 : TimeUnit.MILLISECONDS.toNanos(waitMs);
+        } catch (Exception e) {
+            // fail open: an unavailable Redis must not take the API down with it
+            log.warn("[RATE_LIMIT] Redis unavailable, allowing request: {}", e.getMessage());
+            return 0;
+        }
+    }
+}
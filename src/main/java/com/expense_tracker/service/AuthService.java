@@ -9,12 +9,14 @@ import com.expense_tracker.model.RefreshToken;
 import com.expense_tracker.model.User;
 import com.expense_tracker.repository.UserRepository;
 import com.expense_tracker.security.JwtService;
+import com.expense_tracker.security.LoginAttemptTracker;
+import com.expense_tracker.security.PasswordHashingService;
+import com.expense_tracker.security.PrincipalCache;
 import com.expense_tracker.service.notification.NotificationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -24,10 +26,12 @@ import java.time.LocalDateTime;
 public class AuthService implements UserDetailsService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtService jwtService;
     private final RefreshTokenService refreshTokenService;
     private final NotificationService notificationService;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final PrincipalCache principalCache;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
@@ -51,55 +55,21 @@ public class AuthService implements UserDetailsService {
 //    }
 
 
-    public void increaseFailedAttempts(User user) {
-        int newFailedAttempts = user.getFailedAttempts() + 1;
-        user.setFailedAttempts(newFailedAttempts);
-        userRepository.save(user);
-    }
-
-    public void resetFailedAttempts(User user) {
-        user.setFailedAttempts(0);
-        userRepository.save(user);
-    }
-
-    public void lockUser(User user) {
-        user.setAccountLocked(true);
-        user.setLockTime(LocalDateTime.now());
-        userRepository.save(user);
-    }
-
-    public boolean unlockWhenTimeExpired(User user) {
-        LocalDateTime lockTime = user.getLockTime();
-
-        if (lockTime == null) return false;
-
-        if (lockTime.plusMinutes(SecurityConstants.LOCK_TIME_DURATION).isBefore(LocalDateTime.now())) {
-            user.setAccountLocked(false);
-            user.setFailedAttempts(0);
-            user.setLockTime(null);
-            userRepository.save(user);
-            return true;
-        }
-        return false;
-    }
-
-
     public AuthResponse login(LoginRequest request) {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new UserNotFoundException("User not found "));
 
-        // check if account is locked
-        if (user.isAccountLocked() && !unlockWhenTimeExpired(user)) {
+        // check if account is locked (in-memory attempt state, see LoginAttemptTracker)
+        if (loginAttemptTracker.isLocked(user)) {
             throw new AccountLockedException("Account is locked. Try again after " + SecurityConstants.LOCK_TIME_DURATION + " minutes" +
                     ".");
         }
 
 
         // Validate password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            increaseFailedAttempts(user);
-            if (user.getFailedAttempts() >= SecurityConstants.MAX_FAILED_ATTEMPTS) {
-                lockUser(user);
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
+            if (loginAttemptTracker.recordFailure(user)) {
+                principalCache.invalidateUser(user.getEmail());
                 throw new AccountLockedException(
                         "Account locked due to too many failed attempts"
                 );
@@ -108,7 +78,8 @@ public class AuthService implements UserDetailsService {
         }
 
         // Successful login - reset attempts
-        resetFailedAttempts(user);
+        loginAttemptTracker.recordSuccess(user);
+        passwordHashingService.upgradeIfNeeded(user.getId(), request.getPassword(), user.getPassword());
 
         // Check for existing valid refresh token
         RefreshToken existingToken = refreshTokenService.findTopByUser(user)
@@ -161,7 +132,7 @@ public class AuthService implements UserDetailsService {
                 "You logged out at " + LocalDateTime.now()
         );
 
-        // revoke token
+        // revoke token (also evicts the user's cached principals)
         refreshTokenService.revoke(rt);
     }
 
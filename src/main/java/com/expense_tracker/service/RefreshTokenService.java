@@ -5,6 +5,7 @@ import com.expense_tracker.model.RefreshToken;
 import com.expense_tracker.model.User;
 import com.expense_tracker.repository.RefreshTokenRepository;
 import com.expense_tracker.repository.UserRepository;
+import com.expense_tracker.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.apache.el.stream.Stream;
 import org.springframework.beans.factory.annotation.Value;
@@ -21,6 +22,7 @@ public class RefreshTokenService {
 
     private final RefreshTokenRepository refreshTokenRepository;
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
 
     @Value("${app.refresh-token.expiration-minutes:43200}")  // defaults 30 days
@@ -56,7 +58,10 @@ public class RefreshTokenService {
     @Transactional
     public void revoke(RefreshToken token) {
         token.setRevoked(true);
-        refreshTokenRepository.save(token);
+        RefreshToken saved = refreshTokenRepository.save(token);
+
+        // access tokens of this user must be re-checked against the revoked refresh token
+        principalCache.invalidateUser(saved.getUser().getEmail());
     }
 
     @Transactional
@@ -7,17 +7,20 @@ import com.expense_tracker.exception.UserNotFoundException;
 import com.expense_tracker.model.Role;
 import com.expense_tracker.model.User;
 import com.expense_tracker.repository.UserRepository;
+import com.expense_tracker.security.PasswordHashingService;
+import com.expense_tracker.security.PrincipalCache;
 import com.expense_tracker.service.notification.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 
 @Service
@@ -27,11 +30,17 @@ public class UserService {
 
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Value("${app.recurring.reminders.lead-days:1,3,7}")
+    private Set<Integer> reminderLeadDayOptions;
+
 
     @Transactional
     public User saveUser(User user) {
@@ -41,7 +50,7 @@ public class UserService {
         }
 
         // encode password before saving
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHashingService.encode(user.getPassword()));
 
         if (user.getRole() == null) {
             user.setRole(Role.USER);
@@ -99,6 +108,7 @@ public class UserService {
                 .orElseThrow(() -> new UserNotFoundException("User not found with : " + id));
 
         userRepository.deleteById(id);
+        principalCache.invalidateUser(user.getEmail());
 
         return user;
     }
@@ -124,11 +134,14 @@ public class UserService {
 
         // if password provided in updateUser, encode it; otherwise keep existing
         if (updateUser.getPassword() != null && !updateUser.getPassword().isBlank()) {
-            existingUser.setPassword(passwordEncoder.encode(updateUser.getPassword()));
+            existingUser.setPassword(passwordHashingService.encode(updateUser.getPassword()));
         }
 
         User savedUser = userRepository.save(existingUser);
 
+        // cached principals were issued under the old email / password
+        principalCache.invalidateUser(oldEmail);
+
         notificationService.sendNotification(
                 savedUser,
                 "👤 Profile Updated",
@@ -158,6 +171,8 @@ public class UserService {
             throw new IllegalArgumentException("Role cannot be modified through this endpoint");
         }
 
+        String cachedEmail = existingUser.getEmail();
+
 
         // apply only the provided updates
         updates.forEach((field, value) -> {
@@ -183,13 +198,24 @@ public class UserService {
                     }
                 }
 
-                case "password" -> existingUser.setPassword(passwordEncoder.encode((String) value));
+                case "password" -> existingUser.setPassword(passwordHashingService.encode((String) value));
+
+                case "reminderLeadDays" -> {
+                    if (!(value instanceof Integer days) || !reminderLeadDayOptions.contains(days)) {
+                        throw new IllegalArgumentException("reminderLeadDays must be one of " + reminderLeadDayOptions);
+                    }
+                    existingUser.setReminderLeadDays(days);
+                }
 
                 default -> throw new IllegalArgumentException("Invalid field : " + field);
             }
         });
 
-        return userRepository.save(existingUser);
+        User saved = userRepository.save(existingUser);
+
+        // email or password may have changed
+        principalCache.invalidateUser(cachedEmail);
+        return saved;
     }
 
     public void deleteAllUsers() {
@@ -198,6 +224,7 @@ public class UserService {
             throw new UserNotFoundException("No users found to delete");
         }
         userRepository.deleteAll();
+        principalCache.invalidateAll();
     }
 
     public User changeUserRole(Long id, Role newRole) {
@@ -205,7 +232,11 @@ public class UserService {
                 .orElseThrow(() -> new UserNotFoundException("User not found with ID : " + id));
 
         user.setRole(newRole);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+
+        // cached principals still carry the old authorities
+        principalCache.invalidateUser(user.getEmail());
+        return saved;
     }
 
     public Long getUserIdByEmail(String email) {
@@ -0,0 +1,136 @@
+package com.expense_tracker.service.analytics;
+
+import com.expense_tracker.config.cache.TwoTierCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/*
+ * Cached analytics results, keyed per user and month:
+ *   <userId>:summary:<yyyy-MM>, <userId>:category:<yyyy-MM>
+ *   <userId>:trends -> { <from yyyy-MM> : trends }  (one entry for every window of the user)
+ * A write to a month evicts exactly those three keys. Inside a transaction each key is
+ * evicted once on first use and once after commit, however many rows the transaction
+ * writes. Prefix clears (Redis SCAN + broadcast) are left to evictUser, i.e. rebuilds.
+ */
+@Component
+@RequiredArgsConstructor
+public class AnalyticsCache {
+
+    public static final String CACHE_NAME = "analytics";
+
+    private final CacheManager cacheManager;
+
+    public <T> T summary(Long userId, YearMonth month, Callable<T> loader) {
+        return cache().get(userId + ":summary:" + month, loader);
+    }
+
+    public <T> T categorySpending(Long userId, YearMonth month, Callable<T> loader) {
+        return cache().get(userId + ":category:" + month, loader);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T trends(Long userId, YearMonth from, Callable<T> loader) {
+        Cache cache = cache();
+        String key = userId + ":trends";
+
+        Map<String, Object> windows = cache.get(key, Map.class);
+        if (windows != null && windows.containsKey(from.toString())) {
+            return (T) windows.get(from.toString());
+        }
+
+        T value;
+        try {
+            value = loader.call();
+        } catch (Exception e) {
+            throw new Cache.ValueRetrievalException(key, loader, e);
+        }
+
+        Map<String, Object> updated = windows != null ? new HashMap<>(windows) : new HashMap<>();
+        updated.put(from.toString(), value);
+        cache.put(key, updated);
+        return value;
+    }
+
+    // Now and again after commit, so a concurrent read cannot re-cache the pre-commit totals
+    public void evictMonth(Long userId, YearMonth month) {
+        evictKeys(userId + ":summary:" + month, userId + ":category:" + month, userId + ":trends");
+    }
+
+    // userId == null -> every user
+    public void evictUser(Long userId) {
+        runNowAndAfterCommit(() -> {
+            if (userId == null) {
+                cache().clear();
+            } else {
+                evictByPrefix(cache(), userId + ":");
+            }
+        });
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CACHE_NAME);
+    }
+
+    private void evictByPrefix(Cache cache, String prefix) {
+        if (cache instanceof TwoTierCache twoTier) {
+            twoTier.evictByPrefix(prefix);
+        } else {
+            cache.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void evictKeys(String... keys) {
+        Cache cache = cache();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            for (String key : keys) cache.evict(key);
+            return;
+        }
+
+        // keys already evicted in this transaction are only evicted again after commit
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<String> evicted = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, evicted);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evicted.forEach(cache()::evict);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AnalyticsCache.this);
+                }
+            });
+            pending = evicted;
+        }
+
+        for (String key : keys) {
+            if (pending.add(key)) cache.evict(key);
+        }
+    }
+
+    private void runNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
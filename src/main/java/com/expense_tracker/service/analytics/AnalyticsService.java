@@ -5,12 +5,11 @@ import com.expense_tracker.dto.analytics.MonthlySummaryDTO;
 import com.expense_tracker.dto.analytics.MonthlyTrendDTO;
 import com.expense_tracker.model.TransactionType;
 import com.expense_tracker.model.User;
-import com.expense_tracker.repository.TransactionRepository;
+import com.expense_tracker.repository.analytics.MonthlyRollupRepository;
 import com.expense_tracker.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.TextStyle;
 import java.util.List;
@@ -21,18 +20,27 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AnalyticsService {
 
-    private final TransactionRepository transactionRepository;
+    private final MonthlyRollupRepository monthlyRollupRepository;
     private final UserService userService;
+    private final AnalyticsCache analyticsCache;
 
     // monthly summary
     public MonthlySummaryDTO getMonthlySummary(int month, int year) {
         User user = userService.getCurrentUser();
 
-        Double income = transactionRepository.sumByUserAndMonthAndType(user.getId(), month, year, TransactionType.INCOME);
-        Double expense = transactionRepository.sumByUserAndMonthAndType(user.getId(), month, year, TransactionType.EXPENSE);
+        return analyticsCache.summary(user.getId(), YearMonth.of(year, month),
+                () -> loadMonthlySummary(user, month, year));
+    }
+
+    private MonthlySummaryDTO loadMonthlySummary(User user, int month, int year) {
+        double income = 0.0;
+        double expense = 0.0;
 
-        income = income == null ? 0.0 : income;
-        expense = expense == null ? 0.0 : expense;
+        for (Object[] row : monthlyRollupRepository.sumByType(user.getId(), year, month)) {
+            double total = ((Number) row[1]).doubleValue();
+            if (row[0] == TransactionType.INCOME) income = total;
+            if (row[0] == TransactionType.EXPENSE) expense = total;
+        }
 
         Double savings = income - expense;
 
@@ -43,9 +51,14 @@ public class AnalyticsService {
     public List<CategorySpendingDTO> getSpendingByCategory(int month, int year) {
         User user = userService.getCurrentUser();
 
-        return transactionRepository.getCategoryWiseSpending(user.getId(), month, year)
+        return analyticsCache.categorySpending(user.getId(), YearMonth.of(year, month),
+                () -> loadSpendingByCategory(user, month, year));
+    }
+
+    private List<CategorySpendingDTO> loadSpendingByCategory(User user, int month, int year) {
+        return monthlyRollupRepository.sumByCategory(user.getId(), year, month)
                 .stream()
-                .map(obj -> new CategorySpendingDTO((String) obj[0], (Double) obj[1]))
+                .map(obj -> new CategorySpendingDTO((String) obj[0], ((Number) obj[1]).doubleValue()))
                 .collect(Collectors.toList());
     }
 
@@ -53,10 +66,14 @@ public class AnalyticsService {
     public List<MonthlyTrendDTO> getMonthlyTrends(int monthsBack) {
         User user = userService.getCurrentUser();
 
-        // Start date: first day of N months back
-        LocalDate startDate = LocalDate.now().minusMonths(monthsBack).withDayOfMonth(1);
+        // Start: first month of N months back
+        YearMonth from = YearMonth.now().minusMonths(monthsBack);
+
+        return analyticsCache.trends(user.getId(), from, () -> loadMonthlyTrends(user, from));
+    }
 
-        return transactionRepository.getMonthlyTrendsNative(user.getId(), startDate)
+    private List<MonthlyTrendDTO> loadMonthlyTrends(User user, YearMonth from) {
+        return monthlyRollupRepository.getMonthlyTrends(user.getId(), from.getYear(), from.getMonthValue())
                 .stream()
                 .map(obj -> {
                     int year = ((Number) obj[0]).intValue();
@@ -0,0 +1,75 @@
+package com.expense_tracker.service.analytics;
+
+import com.expense_tracker.model.Transaction;
+import com.expense_tracker.model.TransactionType;
+import com.expense_tracker.repository.analytics.MonthlyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MonthlyRollupService {
+
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final AnalyticsCache analyticsCache;
+
+    // previous = state before the write (null on create), current = state after the write
+    @Transactional
+    public void applyDelta(Transaction previous, Transaction current) {
+        if (counts(previous)) {
+            addToRollup(previous, -previous.getAmount(), -1);
+        }
+        if (counts(current)) {
+            addToRollup(current, current.getAmount(), 1);
+        }
+    }
+
+    // Live transactions in whole months [from, to) (null -> unbounded), without touching transactions
+    @Transactional(readOnly = true)
+    public long countTransactions(Long userId, TransactionType type, Long categoryId, YearMonth from, YearMonth to) {
+        return monthlyRollupRepository.countTransactions(userId, type, categoryId, period(from), period(to));
+    }
+
+    // Backfill rollups from the transactions table (userId == null -> all users)
+    @Transactional
+    public int rebuild(Long userId) {
+        int deleted = userId != null
+                ? monthlyRollupRepository.deleteByUserId(userId)
+                : monthlyRollupRepository.deleteAllRollups();
+
+        int inserted = monthlyRollupRepository.rebuildFromTransactions(userId);
+        analyticsCache.evictUser(userId);
+
+        log.info("[ROLLUP] [REBUILD] user={} deleted={} inserted={}",
+                userId != null ? userId : "ALL", deleted, inserted);
+        return inserted;
+    }
+
+    private void addToRollup(Transaction t, double amountDelta, long countDelta) {
+        int year = t.getDate().getYear();
+        int month = t.getDate().getMonthValue();
+        Long categoryId = t.getCategory() != null ? t.getCategory().getId() : null;
+
+        monthlyRollupRepository.addToRollup(t.getUser().getId(), year, month, categoryId,
+                categoryId != null ? categoryId : 0L, t.getType().name(), amountDelta, countDelta);
+        analyticsCache.evictMonth(t.getUser().getId(), YearMonth.of(year, month));
+    }
+
+    /* Helper: months since year 0, comparable in the rollup query */
+    private Integer period(YearMonth month) {
+        return month != null ? month.getYear() * 12 + month.getMonthValue() - 1 : null;
+    }
+
+    /* Helper: only live transactions are part of the rollup */
+    private boolean counts(Transaction t) {
+        return t != null && !t.isArchived()
+                && t.getAmount() != null
+                && t.getType() != null
+                && t.getDate() != null;
+    }
+}
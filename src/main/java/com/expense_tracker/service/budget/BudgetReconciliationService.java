@@ -0,0 +1,78 @@
+package com.expense_tracker.service.budget;
+
+import com.expense_tracker.model.budget.Budget;
+import com.expense_tracker.repository.TransactionRepository;
+import com.expense_tracker.repository.budget.BudgetRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/*
+ * Budget.spent is maintained incrementally by BudgetService.applySpentDelta.
+ * This job recomputes it from the transactions table (minus the spentOffset of
+ * a manual reset) and fixes any drift.
+ *
+ * Corrections are guarded writes (UPDATE ... WHERE spent = <value read>), each
+ * committed on its own: a delta applied concurrently makes the guard miss and
+ * the budget is left for the next run instead of being overwritten.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BudgetReconciliationService {
+
+    private static final double TOLERANCE = 0.005;
+
+    private final BudgetRepository budgetRepository;
+    private final TransactionRepository transactionRepository;
+
+    // Runs every day at 02:30 (current + previous month, to catch late edits)
+    @Scheduled(cron = "0 30 2 * * *")
+    public void reconcileRecentBudgets() {
+        LocalDate now = LocalDate.now();
+        LocalDate previous = now.minusMonths(1);
+
+        reconcile(now.getMonthValue(), now.getYear());
+        reconcile(previous.getMonthValue(), previous.getYear());
+    }
+
+    public int reconcile(int month, int year) {
+        return reconcile(budgetRepository.findByMonthAndYear(month, year), month, year);
+    }
+
+    // One user's budgets only, e.g. after a bulk import into that month
+    public int reconcileUser(Long userId, int month, int year) {
+        return reconcile(budgetRepository.findByUserIdAndMonthAndYear(userId, month, year), month, year);
+    }
+
+    private int reconcile(List<Budget> budgets, int month, int year) {
+        LocalDate start = LocalDate.of(year, month, 1);
+        LocalDate end = start.plusMonths(1);
+        int drifted = 0;
+
+        for (Budget budget : budgets) {
+            Long categoryId = budget.getCategory() != null ? budget.getCategory().getId() : null;
+            double offset = budget.getSpentOffset() != null ? budget.getSpentOffset() : 0.0;
+            double actual = transactionRepository.sumSpent(budget.getUser().getId(), start, end, categoryId) - offset;
+            double stored = budget.getSpent() != null ? budget.getSpent() : 0.0;
+
+            if (Math.abs(actual - stored) > TOLERANCE) {
+                if (budgetRepository.correctSpent(budget.getId(), budget.getSpent(), actual) == 0) {
+                    log.info("[BUDGET] [RECONCILE] Budget {} changed while checking, skipped", budget.getId());
+                    continue;
+                }
+                log.warn("[BUDGET] [RECONCILE] Drift on budget {} ({}/{}): stored={}, actual={}",
+                        budget.getId(), month, year, stored, actual);
+                drifted++;
+            }
+        }
+
+        log.info("[BUDGET] [RECONCILE] {}/{}: checked {} budgets, corrected {}",
+                month, year, budgets.size(), drifted);
+        return drifted;
+    }
+}
@@ -1,67 +1,284 @@
 package com.expense_tracker.service.budget;
 
+import com.expense_tracker.config.NodeIdentity;
+import com.expense_tracker.config.id.PooledIdTable;
+import com.expense_tracker.model.User;
 import com.expense_tracker.model.budget.Budget;
-import com.expense_tracker.model.budget.BudgetHistory;
-import com.expense_tracker.repository.budget.BudgetHistoryRepository;
+import com.expense_tracker.model.budget.BudgetHistoryType;
+import com.expense_tracker.model.budget.BudgetRollover;
+import com.expense_tracker.model.budget.BudgetRolloverStatus;
 import com.expense_tracker.repository.budget.BudgetRepository;
+import com.expense_tracker.repository.budget.BudgetRolloverRepository;
 import com.expense_tracker.service.notification.NotificationService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+/*
+ * Month-end rollover: previous-month budgets are archived to budget_history and
+ * moved to the new month with spent = 0.
+ *
+ * The budgets are split into user id partitions processed in parallel. Each
+ * partition is read with keyset paging and every chunk is archived + moved in
+ * its own transaction (JDBC batch statements). The chunk rows are locked and
+ * re-checked against the month first, so a budget another run already moved is
+ * skipped and never archived twice.
+ *
+ * Every rolled-over month has a budget_rollovers row: STARTED when the run begins,
+ * COMPLETED once every partition committed. A run holds the row's lease (owner node +
+ * expiry), so only one node works on a month at a time. catchUp() (startup and every
+ * hour) resumes STARTED months only, newest first so their budgets win the new
+ * month's slots; budgets users create for a completed month are left alone.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class BudgetResetService {
 
+    private static final String INSERT_HISTORY = """
+            INSERT INTO budget_history
+                (id, original_budget_id, amount, spent, month, year, category_id, user_id, type, archived_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String MOVE_BUDGET = "UPDATE budgets SET spent = 0, spent_offset = 0, month = ?, year = ? WHERE id = ?";
+
+    private static final String DELETE_BUDGET = "DELETE FROM budgets WHERE id = ?";
+
+    private record ChunkResult(int archived, Long lastUserId, Long lastBudgetId, Set<User> users) {}
+
+    private record RolloverResult(int archived, boolean failed) {}
+
     private final BudgetRepository budgetRepository;
-    private final BudgetHistoryRepository budgetHistoryRepository;
+    private final BudgetRolloverRepository budgetRolloverRepository;
     private final NotificationService notificationService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PooledIdTable pooledIdTable;
+    private final NodeIdentity nodeIdentity;
+
+    @Value("${app.budget.rollover.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.budget.rollover.workers:4}")
+    private int workers;
+
+    @Value("${app.budget.rollover.catch-up-months:3}")
+    private int catchUpMonths;
+
+    @Value("${app.budget.rollover.lease-minutes:60}")
+    private int leaseMinutes;
 
     // Runs every month at midnight on 1st day
     @Scheduled(cron = "0 0 0 1 * *")
     public void resetMonthlyBudgets() {
-        LocalDate now = LocalDate.now();
-        int previousMonth = now.minusMonths(1).getMonthValue();
-        int previousYear = now.minusMonths(1).getYear();
-
-        // Fetch only budgets from previous month
-        List<Budget> budgetsToReset = budgetRepository.findByMonthAndYear(previousMonth, previousYear);
-
-        // Archive previous month budgets
-        List<BudgetHistory> historyList = budgetsToReset.stream()
-                .map(budget -> BudgetHistory.builder()
-                        .originalBudgetId(budget.getId())
-                        .amount(budget.getAmount())
-                        .spent(budget.getSpent())
-                        .month(budget.getMonth())
-                        .year(budget.getYear())
-                        .category(budget.getCategory())
-                        .user(budget.getUser())
-                        .archivedAt(LocalDateTime.now())
-                        .build()
-                ).toList();
-
-        budgetHistoryRepository.saveAll(historyList);
-
-        // Reset budgets for new month
-        for (Budget budget : budgetsToReset) {
-            budget.setSpent(0.0);
-            budget.setMonth(now.getMonthValue());
-            budget.setYear(now.getYear());
-
-            // Send new month budget notification to each user
-            String message = "Your new month budget is ready for " + now.getMonth() + " " + now.getYear();
-            notificationService.sendNotification(budget.getUser(),"Monthly budget reset", message);
+        YearMonth current = YearMonth.now();
+        YearMonth previous = current.minusMonths(1);
+
+        start(previous);
+        int archived = runRollover(previous, current);
+        log.info("[BUDGET] [ROLLOVER] Monthly budgets reset for {}: {} budgets archived", current, archived);
+    }
+
+    // Runs on startup and every hour at :15
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 15 * * * *")
+    public void catchUp() {
+        catchUp(YearMonth.now());
+    }
+
+    private void catchUp(YearMonth current) {
+        YearMonth previous = current.minusMonths(1);
+
+        // every node was down on the 1st: the month before has a checkpoint, the last one has none
+        // (without any checkpoint this is a first deployment, nothing is rolled over retroactively)
+        if (!budgetRolloverRepository.existsById(previous.toString())
+                && budgetRolloverRepository.existsById(previous.minusMonths(1).toString())) {
+            start(previous);
+        }
+
+        YearMonth oldest = current.minusMonths(catchUpMonths);
+        for (BudgetRollover unfinished : budgetRolloverRepository.findByStatusOrderByPeriodDesc(BudgetRolloverStatus.STARTED)) {
+            YearMonth from = YearMonth.parse(unfinished.getPeriod());
+            if (!from.isBefore(current)) continue;
+            if (from.isBefore(oldest)) {
+                log.warn("[BUDGET] [ROLLOVER] Rollover of {} unfinished, older than the catch-up window", from);
+                continue;
+            }
+
+            int archived = runRollover(from, current);
+            log.info("[BUDGET] [ROLLOVER] Catch-up {} -> {}: {} budgets archived", from, current, archived);
+        }
+    }
+
+    /* Helper: record that the rollover of a month has begun (no-op when it already has) */
+    private void start(YearMonth from) {
+        if (budgetRolloverRepository.existsById(from.toString())) return;
+        try {
+            budgetRolloverRepository.insertStarted(from.toString(), LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            // started by another node in the meantime
+        }
+    }
+
+    /* Helper: run a started month under its lease, mark it completed when nothing failed */
+    private int runRollover(YearMonth from, YearMonth to) {
+        String period = from.toString();
+        String owner = nodeIdentity.getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        if (budgetRolloverRepository.acquire(period, owner, now.plusMinutes(leaseMinutes), now) == 0) {
+            log.info("[BUDGET] [ROLLOVER] Rollover of {} completed or running on another node", from);
+            return 0;
+        }
+
+        RolloverResult result;
+        try {
+            result = rollover(from, to);
+        } catch (RuntimeException e) {
+            budgetRolloverRepository.release(period, owner);
+            throw e;
+        }
+
+        if (result.failed()) {
+            budgetRolloverRepository.release(period, owner); // catchUp() resumes it
+        } else if (budgetRolloverRepository.complete(period, owner, LocalDateTime.now()) == 0) {
+            log.warn("[BUDGET] [ROLLOVER] Lease on {} expired before the rollover finished", from);
+        }
+        return result.archived();
+    }
+
+    private RolloverResult rollover(YearMonth from, YearMonth to) {
+        List<Object[]> range = budgetRepository.findUserIdRange(from.getMonthValue(), from.getYear());
+        if (range.isEmpty() || range.get(0)[0] == null) {
+            return new RolloverResult(0, false);
+        }
+
+        long minUserId = ((Number) range.get(0)[0]).longValue();
+        long maxUserId = ((Number) range.get(0)[1]).longValue();
+        long span = Math.max(1, (maxUserId - minUserId + workers) / workers);
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers, r -> new Thread(r, "budget-rollover"));
+        try {
+            List<Future<Integer>> partitions = new ArrayList<>();
+            for (long lo = minUserId; lo <= maxUserId; lo += span) {
+                long fromUserId = lo;
+                long toUserId = Math.min(maxUserId, lo + span - 1);
+                partitions.add(pool.submit(() -> rolloverPartition(from, to, fromUserId, toUserId)));
+            }
+
+            int archived = 0;
+            boolean failed = false;
+            for (Future<Integer> partition : partitions) {
+                try {
+                    archived += partition.get();
+                } catch (Exception e) {
+                    // the other partitions are committed; catchUp() resumes this one
+                    log.error("[BUDGET] [ROLLOVER] Partition failed", e);
+                    failed = true;
+                }
+            }
+            return new RolloverResult(archived, failed);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private int rolloverPartition(YearMonth from, YearMonth to, long fromUserId, long toUserId) {
+        Long afterUserId = fromUserId - 1;
+        Long afterId = 0L;
+        int archived = 0;
+
+        while (true) {
+            final Long afterUser = afterUserId;
+            final Long afterBudget = afterId;
+            ChunkResult chunk = transactionTemplate.execute(status ->
+                    rolloverChunk(from, to, fromUserId, toUserId, afterUser, afterBudget));
+
+            if (chunk == null) break;
+
+            archived += chunk.archived();
+            afterUserId = chunk.lastUserId();
+            afterId = chunk.lastBudgetId();
+
+            // notify once committed, one message per user in the chunk
+            String message = "Your new month budget is ready for " + to.getMonth() + " " + to.getYear();
+            chunk.users().forEach(user -> notificationService.sendNotification(user, "Monthly budget reset", message));
+        }
+
+        log.info("[BUDGET] [ROLLOVER] Users {}..{}: {} budgets archived", fromUserId, toUserId, archived);
+        return archived;
+    }
+
+    private ChunkResult rolloverChunk(YearMonth from, YearMonth to, long fromUserId, long toUserId,
+                                      Long afterUserId, Long afterId) {
+        List<Budget> budgets = budgetRepository.findRolloverChunk(
+                from.getMonthValue(), from.getYear(), fromUserId, toUserId, afterUserId, afterId,
+                PageRequest.of(0, chunkSize));
+
+        if (budgets.isEmpty()) return null;
+
+        // lock the rows still in the previous month, with their current spent
+        Map<Long, Double> locked = new HashMap<>();
+        budgetRepository.lockForRollover(budgets.stream().map(Budget::getId).toList(), from.getMonthValue(), from.getYear())
+                .forEach(row -> locked.put(((Number) row[0]).longValue(), ((Number) row[1]).doubleValue()));
+
+        Budget last = budgets.get(budgets.size() - 1);
+        budgets = budgets.stream().filter(b -> locked.containsKey(b.getId())).toList();
+        if (budgets.isEmpty()) {
+            return new ChunkResult(0, last.getUser().getId(), last.getId(), Set.of());
+        }
+
+        // a budget for the same category may already exist in the new month (unique key):
+        // such budgets are archived and removed instead of moved
+        Map<Long, User> users = new LinkedHashMap<>();
+        budgets.forEach(b -> users.putIfAbsent(b.getUser().getId(), b.getUser()));
+
+        Set<List<Long>> taken = new HashSet<>();
+        budgetRepository.findBudgetKeys(to.getMonthValue(), to.getYear(), users.keySet())
+                .forEach(row -> taken.add(Arrays.asList((Long) row[0], (Long) row[1])));
+
+        Timestamp archivedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> history = new ArrayList<>(budgets.size());
+        List<Object[]> moves = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        long historyId = pooledIdTable.reserve("budget_history", budgets.size());
+
+        for (Budget b : budgets) {
+            Long categoryId = b.getCategory() != null ? b.getCategory().getId() : null;
+            history.add(new Object[]{historyId++, b.getId(), b.getAmount(), locked.get(b.getId()), b.getMonth(), b.getYear(),
+                    categoryId, b.getUser().getId(), BudgetHistoryType.RESET.name(), archivedAt});
+
+            if (taken.contains(Arrays.asList(b.getUser().getId(), categoryId))) {
+                deletes.add(new Object[]{b.getId()});
+            } else {
+                moves.add(new Object[]{to.getMonthValue(), to.getYear(), b.getId()});
+            }
         }
 
-        budgetRepository.saveAll(budgetsToReset);
+        jdbcTemplate.batchUpdate(INSERT_HISTORY, history);
+        if (!moves.isEmpty()) jdbcTemplate.batchUpdate(MOVE_BUDGET, moves);
+        if (!deletes.isEmpty()) jdbcTemplate.batchUpdate(DELETE_BUDGET, deletes);
 
-        System.out.println("Monthly budgets reset successfully for " +
-                now.getMonth() + " " + now.getYear());
+        return new ChunkResult(budgets.size(), last.getUser().getId(), last.getId(),
+                new LinkedHashSet<>(users.values()));
     }
 }
 
@@ -79,4 +296,4 @@ public class BudgetResetService {
  * Effect:
 
  * This runs once every month, at midnight on the 1st day.
- */
\ No newline at end of file
+ */
@@ -1,17 +1,18 @@
 package com.expense_tracker.service.budget;
 
+import com.expense_tracker.config.id.PooledIdTable;
 import com.expense_tracker.dto.budget.BudgetRequestDTO;
 import com.expense_tracker.dto.budget.BudgetResponseDTO;
 import com.expense_tracker.exception.AccessDeniedException;
 import com.expense_tracker.exception.ResourceNotFoundException;
 import com.expense_tracker.model.Category;
 import com.expense_tracker.model.Transaction;
+import com.expense_tracker.model.TransactionType;
 import com.expense_tracker.model.User;
 import com.expense_tracker.model.budget.Budget;
 import com.expense_tracker.model.budget.BudgetHistory;
 import com.expense_tracker.model.budget.BudgetHistoryType;
 import com.expense_tracker.repository.CategoryRepository;
-import com.expense_tracker.repository.TransactionRepository;
 import com.expense_tracker.repository.UserRepository;
 import com.expense_tracker.repository.budget.BudgetHistoryRepository;
 import com.expense_tracker.repository.budget.BudgetRepository;
@@ -21,6 +22,7 @@ import com.expense_tracker.utility.mapper.BudgetMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -33,10 +35,10 @@ public class BudgetService {
     private final BudgetRepository budgetRepository;
     private final CategoryRepository categoryRepository;
     private final UserService userService; // to get logged-in user
-    private final TransactionRepository transactionRepository;
     private final NotificationService notificationService;
     private final UserRepository userRepository;
     private final BudgetHistoryRepository budgetHistoryRepository;
+    private final PooledIdTable pooledIdTable;
 
 
     public BudgetResponseDTO createBudget(BudgetRequestDTO dto) {
@@ -136,53 +138,90 @@ public class BudgetService {
     }
 
     // Update Spent After Transaction
-    public void updateSpentForBudget(Transaction transaction) {
-
-        User user = transaction.getUser();
-        int month = transaction.getDate().getMonthValue();
-        int year = transaction.getDate().getYear();
-        Long categoryId = transaction.getCategory() != null ? transaction.getCategory().getId() : null;
-
-        // 1️⃣ Update Category Budget (categoryId != null)
-        budgetRepository.findByUserIdAndMonthAndYearAndCategoryId(user.getId(), month, year, categoryId)
-                .ifPresent(budget -> {
-                    double spent = calculateSpent(categoryId, user.getId(), month, year);
-                    budget.setSpent(spent);
-                    budgetRepository.save(budget);
-
-                    handleBudgetNotifications(user, budget, spent, month, year);
-                });
-
-        // 2️⃣ Update Overall Budget (categoryId == null)
-        budgetRepository.findByUserIdAndMonthAndYearAndCategoryId(user.getId(), month, year, null)
-                .ifPresent(budget -> {
-                    double spent = calculateSpent(null, user.getId(), month, year);
-                    budget.setSpent(spent);
-                    budgetRepository.save(budget);
-
-                    handleBudgetNotifications(user, budget, spent, month, year);
-                });
+    // previous = state before the write (null on create), current = state after the write
+    @Transactional
+    public void applySpentDelta(Transaction previous, Transaction current) {
+
+        BudgetKey previousKey = previous != null ? BudgetKey.of(previous) : null;
+        BudgetKey currentKey = current != null ? BudgetKey.of(current) : null;
+
+        double previousSpent = spentContribution(previous);
+        double currentSpent = spentContribution(current);
+
+        if (previousKey != null && previousKey.equals(currentKey)) {
+            // same month and category -> single signed difference
+            applyDelta(current.getUser(), currentKey, currentSpent - previousSpent);
+            return;
+        }
+
+        if (previousKey != null) {
+            applyDelta(previous.getUser(), previousKey, -previousSpent);
+        }
+
+        if (currentKey != null) {
+            applyDelta(current.getUser(), currentKey, currentSpent);
+        }
     }
 
-    /* Helper: calculate spent amount */
-    private double calculateSpent(Long categoryId, Long userId, int month, int year) {
-        return transactionRepository.sumSpent(userId, month, year, categoryId);
+    private void applyDelta(User user, BudgetKey key, double delta) {
+        if (delta == 0) return;
 
+        int updated = budgetRepository.addToSpent(user.getId(), key.month(), key.year(), key.categoryId(), delta);
+        if (updated == 0) return; // no budget set for this month
+
+        // spent is re-read as a value: an already managed Budget still holds the pre-update amount
+        // 1️⃣ Category Budget (categoryId != null)
+        if (key.categoryId() != null) {
+            budgetRepository.findByUserIdAndMonthAndYearAndCategoryId(user.getId(), key.month(), key.year(), key.categoryId())
+                    .ifPresent(budget -> handleBudgetNotifications(budget.getUser(), budget,
+                            budgetRepository.findSpentById(budget.getId()), key.month(), key.year()));
+        }
+
+        // 2️⃣ Overall Budget (categoryId == null)
+        budgetRepository.findByUserIdAndMonthAndYearAndCategoryId(user.getId(), key.month(), key.year(), null)
+                .ifPresent(budget -> handleBudgetNotifications(budget.getUser(), budget,
+                        budgetRepository.findSpentById(budget.getId()), key.month(), key.year()));
+    }
+
+    /* Helper: amount a transaction adds to "spent" (mirrors TransactionRepository.sumSpent) */
+    private double spentContribution(Transaction transaction) {
+        if (transaction == null || transaction.isArchived()
+                || transaction.getType() != TransactionType.EXPENSE
+                || transaction.getAmount() == null) {
+            return 0.0;
+        }
+        return transaction.getAmount();
+    }
+
+    private record BudgetKey(int month, int year, Long categoryId) {
+        static BudgetKey of(Transaction transaction) {
+            return new BudgetKey(
+                    transaction.getDate().getMonthValue(),
+                    transaction.getDate().getYear(),
+                    transaction.getCategory() != null ? transaction.getCategory().getId() : null
+            );
+        }
     }
 
-    // reset the budget
+    // reset the budget: one INSERT ... SELECT for the history rows and one UPDATE for spent,
+    // bounded by the highest budget id seen so both statements cover the same budgets.
+    // Transactions up to now are kept in spentOffset, so reconciliation does not undo the reset.
+    @Transactional
     public void resetBudgetsForUser(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        List<Budget> budgets = budgetRepository.findByUserId(user.getId());
+        Long maxBudgetId = budgetRepository.findMaxIdByUserId(user.getId());
+        if (maxBudgetId == null) return; // no budgets
 
-        for (Budget budget : budgets) {
-            budget.setSpent(0.0); // reset spent
-            budgetRepository.save(budget);
+        long count = budgetRepository.countByUserIdAndIdLessThanEqual(user.getId(), maxBudgetId);
+        long firstHistoryId = pooledIdTable.reserve("budget_history", (int) count);
 
-            saveHistory(budget, BudgetHistoryType.RESET);
-        }
+        int archived = budgetHistoryRepository.archiveForReset(
+                user.getId(), maxBudgetId, firstHistoryId, LocalDateTime.now());
+        int reset = budgetRepository.resetSpent(user.getId(), maxBudgetId);
+
+        log.info("[BUDGET] [RESET] user={} archived={} reset={}", user.getId(), archived, reset);
     }
 
 
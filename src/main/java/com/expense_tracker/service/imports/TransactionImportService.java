@@ -0,0 +1,482 @@
+package com.expense_tracker.service.imports;
+
+import com.expense_tracker.config.NodeIdentity;
+import com.expense_tracker.config.id.PooledIdTable;
+import com.expense_tracker.dto.imports.ImportJobResponseDTO;
+import com.expense_tracker.exception.BadRequestException;
+import com.expense_tracker.exception.ResourceNotFoundException;
+import com.expense_tracker.exception.TooManyRequestsException;
+import com.expense_tracker.model.Category;
+import com.expense_tracker.model.TransactionType;
+import com.expense_tracker.model.User;
+import com.expense_tracker.model.imports.ImportFormat;
+import com.expense_tracker.model.imports.ImportJob;
+import com.expense_tracker.model.imports.ImportJobStatus;
+import com.expense_tracker.repository.CategoryRepository;
+import com.expense_tracker.repository.UserRepository;
+import com.expense_tracker.repository.imports.ImportJobRepository;
+import com.expense_tracker.service.UserService;
+import com.expense_tracker.service.admin.AdminService;
+import com.expense_tracker.service.analytics.MonthlyRollupService;
+import com.expense_tracker.service.budget.BudgetReconciliationService;
+import com.expense_tracker.service.reports.StatementPdfCache;
+import com.expense_tracker.utility.mapper.ImportJobMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/*
+ * Bulk transaction import (CSV / XLSX, same columns as the exports: Date, Amount, Type, Category, Notes).
+ * The upload is stored, then parsed as a stream on a small bounded pool; rows are inserted with
+ * JDBC batches and the derived data (rollups, budgets, caches) is recomputed once per import.
+ *
+ * The upload lives on the node that accepted it, which owns the job and refreshes its heartbeat;
+ * jobs with a stale heartbeat (owner crashed or restarted) are failed by whichever node sweeps
+ * first, and the owner's status updates are conditional, so they never overwrite that FAILED.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionImportService {
+
+    private static final Set<ImportJobStatus> ACTIVE =
+            EnumSet.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING);
+
+    private static final int MAX_ROW_ERRORS = 20;
+    private static final int MAX_NOTES_LENGTH = 255;
+
+    // Date cells formatted by Excel come through as displayed, e.g. 10/18/26
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("M/d/yy"),
+            DateTimeFormatter.ofPattern("M/d/yyyy"));
+
+    private static final String INSERT_TRANSACTION = """
+            INSERT INTO transactions
+                (id, user_id, type, amount, notes, recurring, archived, date, category_id, created_at, update_at)
+            VALUES (?, ?, ?, ?, ?, false, false, ?, ?, ?, ?)
+            """;
+
+    private final ImportJobRepository importJobRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionFileParser transactionFileParser;
+    private final JdbcTemplate jdbcTemplate;
+    private final UserService userService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final BudgetReconciliationService budgetReconciliationService;
+    private final StatementPdfCache statementPdfCache;
+    private final AdminService adminService;
+    private final PooledIdTable pooledIdTable;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final NodeIdentity nodeIdentity;
+
+    @Value("${app.imports.dir:imports/uploads}")
+    private String uploadDir;
+
+    @Value("${app.imports.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.imports.pool-size:1}")
+    private int poolSize;
+
+    @Value("${app.imports.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${app.imports.max-per-user:1}")  // queued + running imports per user
+    private int maxJobsPerUser;
+
+    @Value("${app.imports.stale-minutes:5}")  // missed heartbeats before another node fails a job
+    private int staleMinutes;
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    @PostConstruct
+    void startExecutor() {
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("import-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        executor.shutdown();
+    }
+
+    public ImportJobResponseDTO submit(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestException("file is required");
+        }
+        ImportFormat format = ImportFormat.fromFileName(file.getOriginalFilename());
+        if (format == null) {
+            throw new BadRequestException("Only .csv and .xlsx files can be imported");
+        }
+
+        User user = userService.getCurrentUser();
+        ImportJob job = createJob(user, format, file.getOriginalFilename());
+
+        try {
+            job.setFilePath(store(job, file).toString());
+            importJobRepository.save(job);
+        } catch (IOException e) {
+            markFailed(job.getId(), "Upload could not be stored", null);
+            throw e;
+        }
+
+        try {
+            Long jobId = job.getId();
+            executor.execute(() -> run(jobId));
+        } catch (TaskRejectedException e) {
+            markFailed(job.getId(), "Import queue is full", null);
+            deleteUpload(job);
+            throw new TooManyRequestsException("Too many imports are running, please try again later");
+        }
+
+        log.info("[IMPORT] [JOB] Queued job {} ({} '{}') for user {}",
+                job.getId(), format, job.getFileName(), user.getId());
+        return ImportJobMapper.toDTO(job);
+    }
+
+    public ImportJobResponseDTO getJob(Long jobId) {
+        User user = userService.getCurrentUser();
+        return importJobRepository.findByIdAndUserId(jobId, user.getId())
+                .map(ImportJobMapper::toDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Import job with id " + jobId + " not found"));
+    }
+
+    public List<ImportJobResponseDTO> getJobs() {
+        User user = userService.getCurrentUser();
+        return importJobRepository.findByUserIdOrderByCreatedAtDesc(user.getId())
+                .stream()
+                .map(ImportJobMapper::toDTO)
+                .toList();
+    }
+
+    // Executed on the import pool
+    void run(Long jobId) {
+        String owner = nodeIdentity.getId();
+        LocalDateTime startedAt = LocalDateTime.now();
+        if (importJobRepository.markRunning(jobId, owner, startedAt) == 0) return; // gone or failed as stale
+
+        ImportJob job = importJobRepository.findById(jobId).orElse(null);
+        if (job == null) return;
+
+        Long userId = job.getUser().getId();
+        RowImporter importer = new RowImporter(job.getId(), userId, categoryIndex(userId));
+        Exception failure = null;
+
+        try {
+            transactionFileParser.parse(job.getFormat(), Paths.get(job.getFilePath()), importer::accept);
+            importer.flush();
+
+            if (!importer.headerSeen()) {
+                throw new IllegalArgumentException("The file is empty");
+            }
+        } catch (Exception e) {
+            log.error("[IMPORT] [JOB] Job {} failed", jobId, e);
+            failure = e;
+        } finally {
+            deleteUpload(job);
+        }
+
+        // batches already inserted are committed, so derived data is refreshed on failure too,
+        // before the job is marked finished
+        try {
+            refreshDerivedData(userId, importer);
+        } catch (RuntimeException e) {
+            log.error("[IMPORT] [JOB] Job {}: refreshing rollups / budgets failed", jobId, e);
+            if (failure == null) failure = e;
+        }
+        importJobRepository.updateProgress(jobId, importer.processed, importer.imported, importer.skipped);
+
+        if (failure != null) {
+            String reason = failure.getMessage() != null ? failure.getMessage() : failure.getClass().getSimpleName();
+            markFailed(jobId, importer.imported > 0
+                    ? reason + " (" + importer.imported + " rows were imported before the failure)"
+                    : reason, importer.rowErrors());
+            return;
+        }
+
+        if (importJobRepository.markCompleted(jobId, owner, importer.rowErrors(), LocalDateTime.now()) == 0) {
+            log.warn("[IMPORT] [JOB] Job {} was failed while running ({} rows imported)", jobId, importer.imported);
+            return;
+        }
+
+        log.info("[IMPORT] [JOB] Job {} completed in {} ms: {} imported, {} skipped", jobId,
+                Duration.between(startedAt, LocalDateTime.now()).toMillis(),
+                importer.imported, importer.skipped);
+    }
+
+    // Runs every minute, tells the other nodes this node's jobs are still alive
+    @Scheduled(fixedDelayString = "${app.imports.heartbeat-ms:60000}")
+    public void heartbeat() {
+        importJobRepository.heartbeat(nodeIdentity.getId(), ACTIVE, LocalDateTime.now());
+    }
+
+    // Jobs whose node crashed or restarted will never complete (on startup, then every few minutes)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 */5 * * * *")
+    public void failInterruptedJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        int failed = importJobRepository.failStale(ACTIVE, now.minusMinutes(staleMinutes),
+                "Interrupted by server restart", now);
+        if (failed > 0) {
+            log.warn("[IMPORT] [JOB] Marked {} interrupted jobs as FAILED", failed);
+        }
+    }
+
+    /* Helper: rollups, budgets and cached views are recomputed once per import, not per row */
+    private void refreshDerivedData(Long userId, RowImporter importer) {
+        if (importer.imported == 0) return;
+
+        monthlyRollupService.rebuild(userId);
+        for (YearMonth month : importer.months) {
+            budgetReconciliationService.reconcileUser(userId, month.getMonthValue(), month.getYear());
+            statementPdfCache.evict(userId, month);
+        }
+        adminService.clearDashboardCache();
+    }
+
+    /* Helper: category name (case-insensitive) -> id; the user's own categories win over shared ones */
+    private Map<String, Long> categoryIndex(Long userId) {
+        Map<String, Long> index = new HashMap<>();
+        for (Category category : categoryRepository.findActiveCategories(userId)) {
+            String key = category.getName().trim().toLowerCase();
+            if (category.getUserId() != null) {
+                index.put(key, category.getId());
+            } else {
+                index.putIfAbsent(key, category.getId());
+            }
+        }
+        return index;
+    }
+
+    // check + insert while holding the user's row lock, so concurrent submits on any node cannot exceed the cap
+    private ImportJob createJob(User user, ImportFormat format, String fileName) {
+        return transactionTemplate.execute(status -> {
+            userRepository.lockById(user.getId());
+            long active = importJobRepository.countByUserIdAndStatusIn(user.getId(), ACTIVE);
+            if (active >= maxJobsPerUser) {
+                throw new TooManyRequestsException(
+                        "You already have " + active + " imports in progress, please wait for them to finish");
+            }
+
+            return importJobRepository.save(ImportJob.builder()
+                    .user(user)
+                    .format(format)
+                    .fileName(fileName)
+                    .ownerNode(nodeIdentity.getId())
+                    .heartbeatAt(LocalDateTime.now())
+                    .build());
+        });
+    }
+
+    private Path store(ImportJob job, MultipartFile file) throws IOException {
+        Path target = Paths.get(uploadDir, String.valueOf(job.getUser().getId()),
+                job.getId() + "." + job.getFormat().getExtension());
+        Files.createDirectories(target.getParent());
+
+        try (InputStream in = file.getInputStream()) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return target;
+    }
+
+    private void deleteUpload(ImportJob job) {
+        if (job.getFilePath() == null) return;
+        try {
+            Files.deleteIfExists(Paths.get(job.getFilePath()));
+        } catch (IOException e) {
+            log.warn("[IMPORT] [JOB] Could not delete upload {}", job.getFilePath(), e);
+        }
+    }
+
+    private void markFailed(Long jobId, String reason, String rowErrors) {
+        importJobRepository.markFailed(jobId, nodeIdentity.getId(), ACTIVE,
+                reason.length() > 500 ? reason.substring(0, 500) : reason, rowErrors, LocalDateTime.now());
+    }
+
+    /*
+     * Maps parsed rows of one job to INSERT parameters (columns located by header name)
+     * and writes them batchSize at a time. Rejected rows are counted and the first
+     * MAX_ROW_ERRORS are reported back on the job.
+     */
+    private class RowImporter {
+
+        private final Long jobId;
+        private final Long userId;
+        private final Map<String, Long> categories;
+        private final LocalDate today = LocalDate.now();
+
+        private final List<Object[]> batch = new ArrayList<>();
+        private final Set<YearMonth> months = new TreeSet<>();
+        private final List<String> rowErrors = new ArrayList<>();
+
+        private Map<String, Integer> columns; // null until the header row has been read
+        private long processed;
+        private long imported;
+        private long skipped;
+
+        RowImporter(Long jobId, Long userId, Map<String, Long> categories) {
+            this.jobId = jobId;
+            this.userId = userId;
+            this.categories = categories;
+        }
+
+        void accept(long rowNumber, List<String> cells) {
+            if (columns == null) {
+                columns = header(cells);
+                return;
+            }
+            if (cells.stream().allMatch(String::isBlank)) return;
+
+            processed++;
+            try {
+                batch.add(toInsertParams(cells));
+            } catch (IllegalArgumentException e) {
+                skipped++;
+                if (rowErrors.size() < MAX_ROW_ERRORS) {
+                    rowErrors.add("Row " + rowNumber + ": " + e.getMessage());
+                }
+            }
+
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!batch.isEmpty()) {
+                // ids come from the same pool Hibernate uses for transactions
+                long id = pooledIdTable.reserve("transactions", batch.size());
+                for (Object[] params : batch) {
+                    params[0] = id++;
+                }
+                jdbcTemplate.batchUpdate(INSERT_TRANSACTION, batch);
+                imported += batch.size();
+                batch.clear();
+            }
+            importJobRepository.updateProgress(jobId, processed, imported, skipped);
+        }
+
+        boolean headerSeen() {
+            return columns != null;
+        }
+
+        String rowErrors() {
+            return rowErrors.isEmpty() ? null : truncate(String.join("\n", rowErrors), 2000);
+        }
+
+        private Map<String, Integer> header(List<String> cells) {
+            Map<String, Integer> header = new HashMap<>();
+            for (int i = 0; i < cells.size(); i++) {
+                // Excel saves CSV with a byte order mark in front of the first header
+                header.putIfAbsent(cells.get(i).replace("\uFEFF", "").trim().toLowerCase(), i);
+            }
+
+            List<String> missing = new ArrayList<>();
+            for (String required : List.of("date", "amount", "type")) {
+                if (!header.containsKey(required)) missing.add(required);
+            }
+            if (!missing.isEmpty()) {
+                throw new IllegalArgumentException("Missing column(s) in header row: " + String.join(", ", missing));
+            }
+            return header;
+        }
+
+        private Object[] toInsertParams(List<String> cells) {
+            LocalDate date = parseDate(cell(cells, "date"));
+            double amount = parseAmount(cell(cells, "amount"));
+            TransactionType type = parseType(cell(cells, "type"));
+            Long categoryId = resolveCategory(cell(cells, "category"));
+            String notes = cell(cells, "notes");
+
+            months.add(YearMonth.from(date));
+            return new Object[]{
+                    null, userId, type.name(), amount, notes.isEmpty() ? null : truncate(notes, MAX_NOTES_LENGTH),
+                    date, categoryId, today, today
+            };
+        }
+
+        private String cell(List<String> cells, String column) {
+            Integer index = columns.get(column);
+            return index != null && index < cells.size() && cells.get(index) != null ? cells.get(index).trim() : "";
+        }
+
+        private LocalDate parseDate(String value) {
+            if (value.isEmpty()) throw new IllegalArgumentException("date is required");
+            for (DateTimeFormatter format : DATE_FORMATS) {
+                try {
+                    return LocalDate.parse(value, format);
+                } catch (DateTimeParseException ignored) {
+                    // try the next format
+                }
+            }
+            throw new IllegalArgumentException("invalid date '" + value + "' (expected yyyy-MM-dd)");
+        }
+
+        private double parseAmount(String value) {
+            double amount;
+            try {
+                amount = Double.parseDouble(value.replace(",", ""));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid amount '" + value + "'");
+            }
+            if (!(amount > 0) || Double.isInfinite(amount)) {
+                throw new IllegalArgumentException("amount must be greater than 0");
+            }
+            return amount;
+        }
+
+        private TransactionType parseType(String value) {
+            try {
+                return TransactionType.valueOf(value.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("type must be INCOME or EXPENSE, got '" + value + "'");
+            }
+        }
+
+        // blank (or the exports' "General") -> uncategorised
+        private Long resolveCategory(String name) {
+            if (name.isEmpty()) return null;
+
+            Long id = categories.get(name.toLowerCase());
+            if (id == null && !name.equalsIgnoreCase("General")) {
+                throw new IllegalArgumentException("unknown category '" + name + "'");
+            }
+            return id;
+        }
+
+        private String truncate(String value, int max) {
+            return value.length() > max ? value.substring(0, max) : value;
+        }
+    }
+}
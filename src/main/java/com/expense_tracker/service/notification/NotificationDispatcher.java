@@ -0,0 +1,183 @@
+package com.expense_tracker.service.notification;
+
+import com.expense_tracker.model.notification.Notification;
+import com.expense_tracker.repository.notification.NotificationsRepository;
+import jakarta.annotation.PostConstruct;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Notification pipeline: sendNotification() only enqueues, a single worker drains
+ * the queue in batches -> one saveAll for the in-app rows and one SMTP connection
+ * for all the emails of the batch (JavaMailSender.send(SimpleMailMessage...)).
+ *
+ * The queue is bounded and enqueue never blocks: when it is full, the in-app row is
+ * saved on the caller thread (one INSERT) and the email is shed (notifications.shed
+ * counter), so a request never waits on SMTP. If a batch insert fails, the rows are
+ * saved one by one so a single bad row does not drop the rest.
+ * Failed emails are retried with exponential backoff.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationDispatcher {
+
+    private record Pending(Notification notification, String email) {}
+
+    private final NotificationsRepository notificationsRepository;
+    private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.notifications.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.notifications.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.notifications.mail.max-attempts:3}")
+    private int maxMailAttempts;
+
+    @Value("${app.notifications.mail.retry-backoff-ms:2000}")  // doubled on every attempt
+    private long retryBackoffMs;
+
+    private BlockingQueue<Pending> queue;
+    private ScheduledExecutorService mailRetryScheduler;
+    private Thread worker;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        mailRetryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "notification-mail-retry");
+            t.setDaemon(true);
+            return t;
+        });
+
+        running = true;
+        worker = new Thread(this::drainLoop, "notification-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(10)); // flush what is still queued
+        mailRetryScheduler.shutdown();
+    }
+
+    public void enqueue(Notification notification, String email) {
+        if (queue.offer(new Pending(notification, email))) {
+            return;
+        }
+
+        log.warn("[NOTIFICATION] Queue full ({}), saving in-app notification only", queueCapacity);
+        meterRegistry.counter("notifications.shed").increment();
+        saveEach(List.of(notification));
+    }
+
+    private void drainLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+
+                List<Pending> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+
+                deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("[NOTIFICATION] Dispatcher batch failed", e);
+            }
+        }
+    }
+
+    private void deliver(List<Pending> batch) {
+        // in-app notifications -> one transaction, row by row if that fails
+        List<Notification> notifications = batch.stream().map(Pending::notification).toList();
+        try {
+            notificationsRepository.saveAll(notifications);
+        } catch (Exception e) {
+            log.warn("[NOTIFICATION] Batch insert of {} in-app notifications failed, saving one by one: {}",
+                    notifications.size(), e.getMessage());
+            notifications.forEach(n -> n.setId(null)); // ids of the rolled back insert
+            saveEach(notifications);
+        }
+
+        // emails -> one SMTP connection for the whole batch
+        List<SimpleMailMessage> mails = batch.stream()
+                .filter(p -> p.email() != null && !p.email().isEmpty())
+                .map(p -> {
+                    SimpleMailMessage mailMessage = new SimpleMailMessage();
+                    mailMessage.setTo(p.email());
+                    mailMessage.setSubject(p.notification().getTitle());
+                    mailMessage.setText(p.notification().getMessage());
+                    return mailMessage;
+                })
+                .toList();
+
+        if (!mails.isEmpty()) {
+            sendMails(mails, 1);
+        }
+        log.debug("[NOTIFICATION] Dispatched {} notifications ({} emails)", batch.size(), mails.size());
+    }
+
+    private void saveEach(List<Notification> notifications) {
+        for (Notification notification : notifications) {
+            try {
+                notificationsRepository.save(notification);
+            } catch (Exception e) {
+                log.error("[NOTIFICATION] Could not save in-app notification '{}'", notification.getTitle(), e);
+            }
+        }
+    }
+
+    private void sendMails(List<SimpleMailMessage> mails, int attempt) {
+        try {
+            mailSender.send(mails.toArray(SimpleMailMessage[]::new));
+        } catch (MailSendException e) {
+            // retry only the messages that actually failed
+            List<SimpleMailMessage> failed = e.getFailedMessages().keySet().stream()
+                    .filter(SimpleMailMessage.class::isInstance)
+                    .map(SimpleMailMessage.class::cast)
+                    .toList();
+            retryLater(failed.isEmpty() ? mails : failed, attempt, e);
+        } catch (MailException e) {
+            retryLater(mails, attempt, e);
+        }
+    }
+
+    private void retryLater(List<SimpleMailMessage> mails, int attempt, Exception cause) {
+        if (attempt >= maxMailAttempts) {
+            log.error("[NOTIFICATION] Giving up on {} emails after {} attempts: {}",
+                    mails.size(), attempt, cause.getMessage());
+            return;
+        }
+
+        long delay = retryBackoffMs << (attempt - 1);
+        log.warn("[NOTIFICATION] {} emails failed (attempt {}), retrying in {} ms: {}",
+                mails.size(), attempt, delay, cause.getMessage());
+        mailRetryScheduler.schedule(() -> sendMails(mails, attempt + 1), delay, TimeUnit.MILLISECONDS);
+    }
+}
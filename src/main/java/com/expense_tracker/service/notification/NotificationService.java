@@ -7,24 +7,22 @@ import com.expense_tracker.model.notification.Notification;
 import com.expense_tracker.repository.notification.NotificationsRepository;
 import com.expense_tracker.utility.mapper.NotificationMapper;
 import lombok.RequiredArgsConstructor;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
 
     private final NotificationsRepository notificationsRepository;
-    private final JavaMailSender mailSender;
+    private final NotificationDispatcher notificationDispatcher;
 
-    // In-app + email notification
-    @Async
+    // In-app + email notification (queued, delivered in batches by NotificationDispatcher)
     public void sendNotification(User user, String title, String message) {
-        // save in-app notification
         Notification notification = Notification.builder()
                 .user(user)
                 .title(title)
@@ -32,16 +30,7 @@ public class NotificationService {
                 .read(false)
                 .build();
 
-        notificationsRepository.save(notification);
-
-        // send email notifications
-        if (user.getEmail() != null && !user.getEmail().isEmpty()) {
-            SimpleMailMessage mailMessage = new SimpleMailMessage();
-            mailMessage.setTo(user.getEmail());
-            mailMessage.setSubject(title);
-            mailMessage.setText(message);
-            mailSender.send(mailMessage);
-        }
+        notificationDispatcher.enqueue(notification, user.getEmail());
     }
 
     public List<NotificationResponseDTO> getUnreadNotifications(User user) {
@@ -63,13 +52,10 @@ public class NotificationService {
     }
 
 
+    @Transactional
     public void markAllAsRead(User user) {
-        List<Notification> unread = notificationsRepository
-                .findByUserIdAndReadFalseOrderByCreatedAtDesc(user.getId());
-
-        unread.forEach(n -> n.setRead(true));
-
-        notificationsRepository.saveAll(unread);
+        int updated = notificationsRepository.markAllAsRead(user.getId());
+        log.info("[NOTIFICATION] [READ-ALL] Marked {} notifications as read for user {}", updated, user.getId());
     }
 
     public void deleteNotification(Long notificationId) {
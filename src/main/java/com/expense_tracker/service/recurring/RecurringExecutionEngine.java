@@ -0,0 +1,200 @@
+package com.expense_tracker.service.recurring;
+
+import com.expense_tracker.config.NodeIdentity;
+import com.expense_tracker.model.Transaction;
+import com.expense_tracker.model.TransactionType;
+import com.expense_tracker.model.recurring.Frequency;
+import com.expense_tracker.model.recurring.RecurringTransaction;
+import com.expense_tracker.repository.TransactionRepository;
+import com.expense_tracker.repository.recurring.RecurringTransactionRepository;
+import com.expense_tracker.service.analytics.MonthlyRollupService;
+import com.expense_tracker.service.budget.BudgetService;
+import com.expense_tracker.service.notification.NotificationService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+ * Posts due recurring transactions; safe to run on several nodes at once.
+ *
+ * 1. claim: due rows are leased in batches with a conditional UPDATE (lease owner + expiry)
+ * 2. execute: every missed occurrence up to today is posted in one saveAll, budgets and
+ *    rollups get the matching deltas, and the schedule is advanced with a fenced UPDATE
+ *    (owner + expected next date) in the same transaction -> an item is never posted twice,
+ *    and a node that crashes mid-run simply lets its lease expire.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecurringExecutionEngine {
+
+    private final RecurringTransactionRepository recurringTransactionRepository;
+    private final TransactionRepository transactionRepository;
+    private final BudgetService budgetService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final NodeIdentity nodeIdentity;
+
+    @Value("${app.recurring.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.recurring.workers:4}")
+    private int workers;
+
+    @Value("${app.recurring.lease-minutes:10}")
+    private long leaseMinutes;
+
+    @Value("${app.recurring.max-catch-up:1000}")  // safety cap on occurrences posted per item and run
+    private int maxCatchUp;
+
+    private String nodeId;
+    private ExecutorService pool;
+
+    @PostConstruct
+    void init() {
+        nodeId = nodeIdentity.getId();
+        pool = Executors.newFixedThreadPool(workers, r -> new Thread(r, "recurring-exec"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    // Recovery scan: executes everything due, returns the number of transactions posted
+    public int run(LocalDate today) {
+        int posted = 0;
+        int items = 0;
+
+        while (true) {
+            List<RecurringTransaction> claimed = claimBatch(today);
+            if (claimed.isEmpty()) break;
+
+            posted += executeAll(claimed, today);
+            items += claimed.size();
+        }
+
+        log.info("[RECURRING] [EXECUTE] node={} items={} transactions posted={}", nodeId, items, posted);
+        return posted;
+    }
+
+    // Executes the given items if they are due (used by the timing wheel as they come due)
+    public int runItems(Collection<Long> ids, LocalDate today) {
+        List<Long> remaining = new ArrayList<>(ids);
+        int posted = 0;
+
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            List<Long> batch = remaining.subList(from, Math.min(from + batchSize, remaining.size()));
+            posted += executeAll(claim(batch, today), today);
+        }
+        return posted;
+    }
+
+    private int executeAll(List<RecurringTransaction> claimed, LocalDate today) {
+        List<Future<Integer>> results = new ArrayList<>();
+        for (RecurringTransaction recurring : claimed) {
+            results.add(pool.submit(() -> execute(recurring, today)));
+        }
+
+        int posted = 0;
+        for (Future<Integer> result : results) {
+            try {
+                posted += result.get();
+            } catch (Exception e) {
+                log.error("[RECURRING] [EXECUTE] Item failed, it will be retried once its lease expires", e);
+            }
+        }
+        return posted;
+    }
+
+    private List<RecurringTransaction> claimBatch(LocalDate today) {
+        List<Long> ids = recurringTransactionRepository.findClaimableIds(
+                today, LocalDateTime.now(), PageRequest.of(0, batchSize));
+        return ids.isEmpty() ? List.of() : claim(ids, today);
+    }
+
+    private List<RecurringTransaction> claim(List<Long> ids, LocalDate today) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            recurringTransactionRepository.claim(ids, nodeId, now.plusMinutes(leaseMinutes), today, now);
+            return recurringTransactionRepository.findByLeaseOwnerAndIdIn(nodeId, ids);
+        });
+    }
+
+    private int execute(RecurringTransaction recurring, LocalDate today) {
+        if (recurring.getFrequency() == null) {
+            // not claimable (see findClaimableIds); keep the lease until it expires, releasing it
+            // would make the item claimable again right away and run() would never finish
+            log.warn("[RECURRING] [EXECUTE] Item {} has no frequency, skipping", recurring.getId());
+            return 0;
+        }
+
+        // every occurrence that is due, including the ones missed while the job did not run
+        List<LocalDate> dueDates = new ArrayList<>();
+        LocalDate next = recurring.getNextExecutionDate();
+        while (!next.isAfter(today) && dueDates.size() < maxCatchUp) {
+            dueDates.add(next);
+            next = advance(next, recurring.getFrequency());
+        }
+        LocalDate newNext = next;
+
+        Integer posted = transactionTemplate.execute(status -> {
+            // locks the row; 0 -> another node already advanced it
+            int fenced = recurringTransactionRepository.completeExecution(
+                    recurring.getId(), nodeId, recurring.getNextExecutionDate(), newNext);
+            if (fenced == 0) return 0;
+
+            List<Transaction> transactions = dueDates.stream()
+                    .map(date -> Transaction.builder()
+                            .amount(recurring.getAmount())
+                            .category(recurring.getCategory())
+                            .user(recurring.getUser())
+                            .type(TransactionType.EXPENSE) // assuming recurring expenses; can extend for INCOME
+                            .recurring(true)
+                            .date(date)
+                            .build())
+                    .toList();
+
+            transactionRepository.saveAll(transactions);
+            for (Transaction transaction : transactions) {
+                budgetService.applySpentDelta(null, transaction);
+                monthlyRollupService.applyDelta(null, transaction);
+            }
+            return transactions.size();
+        });
+
+        if (posted != null && posted > 0) {
+            // Send email + in-app notification
+            String message = "Recurring transaction of amount " + recurring.getAmount() +
+                    " for " + (recurring.getCategory() != null ? recurring.getCategory().getName() : "General") +
+                    (posted == 1
+                            ? " has been recorded today."
+                            : " has been recorded for " + posted + " missed occurrences.");
+            notificationService.sendNotification(recurring.getUser(), "Recurring Payment Processed ✔", message);
+        }
+        return posted != null ? posted : 0;
+    }
+
+    private static LocalDate advance(LocalDate date, Frequency frequency) {
+        return switch (frequency) {
+            case WEEKLY -> date.plusWeeks(1);
+            case MONTHLY -> date.plusMonths(1);
+            case YEARLY -> date.plusYears(1);
+        };
+    }
+}
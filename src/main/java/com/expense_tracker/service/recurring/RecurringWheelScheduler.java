@@ -0,0 +1,199 @@
+package com.expense_tracker.service.recurring;
+
+import com.expense_tracker.model.recurring.RecurringTransaction;
+import com.expense_tracker.repository.recurring.RecurringTransactionRepository;
+import com.expense_tracker.utility.schedular.TimingWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Fires recurring items as they come due instead of scanning the table at midnight.
+ *
+ * The schedule (id -> next execution date) is read once at startup into a TimingWheel and
+ * kept in sync on create/delete. Those updates only reach the node that handled the request,
+ * so every rescan-minutes the items due up to tomorrow are re-read and merged into the wheel:
+ * an item created, edited or left unfired by another node (restarted, dead) fires here too,
+ * at the latest one rescan interval after its deadline. Each item fires at its due date plus a stable per-id
+ * offset inside app.recurring.wheel.spread-hours, so executions are spread over the day.
+ * Posting itself goes through RecurringExecutionEngine, whose lease + fence keep it
+ * idempotent when several nodes fire the same item.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecurringWheelScheduler {
+
+    private final RecurringTransactionRepository recurringTransactionRepository;
+    private final RecurringExecutionEngine recurringExecutionEngine;
+
+    @Value("${app.recurring.wheel.tick-seconds:60}")
+    private long tickSeconds;
+
+    @Value("${app.recurring.wheel.size:60}")  // slots per level; level 0 covers size * tick
+    private int wheelSize;
+
+    @Value("${app.recurring.wheel.spread-hours:24}")
+    private long spreadHours;
+
+    @Value("${app.recurring.wheel.retry-minutes:10}")  // items still due after firing (leased elsewhere, failed)
+    private long retryMinutes;
+
+    @Value("${app.recurring.wheel.rescan-minutes:15}")
+    private long rescanMinutes;
+
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private TimingWheel wheel;
+    private ScheduledExecutorService ticker;
+
+    @PostConstruct
+    void init() {
+        wheel = new TimingWheel(TimeUnit.SECONDS.toMillis(tickSeconds), wheelSize, System.currentTimeMillis());
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "recurring-wheel"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    // Recovery scan: the only full read of the schedule; overdue items fire right away
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSchedule() {
+        List<Object[]> rows = recurringTransactionRepository.findSchedule();
+        List<Long> overdue = scheduleRows(rows);
+
+        log.info("[RECURRING] [WHEEL] Loaded {} items, {} overdue", rows.size(), overdue.size());
+
+        if (!overdue.isEmpty()) {
+            ticker.execute(() -> fire(overdue));
+        }
+        ticker.scheduleWithFixedDelay(this::tick, tickSeconds, tickSeconds, TimeUnit.SECONDS);
+        ticker.scheduleWithFixedDelay(this::rescan, rescanMinutes, rescanMinutes, TimeUnit.MINUTES);
+    }
+
+    public void schedule(RecurringTransaction recurring) {
+        if (recurring.getNextExecutionDate() == null) return;
+
+        boolean pending;
+        synchronized (wheel) {
+            pending = wheel.schedule(recurring.getId(), deadlineOf(recurring.getId(), recurring.getNextExecutionDate()));
+        }
+        if (!pending) {
+            ticker.execute(() -> fire(List.of(recurring.getId())));
+        }
+    }
+
+    public void cancel(Long id) {
+        synchronized (wheel) {
+            wheel.cancel(id);
+        }
+    }
+
+    private void tick() {
+        try {
+            List<Long> due;
+            synchronized (wheel) {
+                due = wheel.advance(System.currentTimeMillis());
+            }
+            if (!due.isEmpty()) {
+                fire(due);
+            }
+        } catch (Exception e) {
+            // an exception would cancel the periodic task
+            log.error("[RECURRING] [WHEEL] Tick failed", e);
+        }
+    }
+
+    // Cheap resync (index range up to tomorrow); ids already on the wheel for the same deadline,
+    // or being retried after their deadline, are left as they are
+    void rescan() {
+        try {
+            long now = System.currentTimeMillis();
+            List<Long> due = new ArrayList<>();
+            int added = 0;
+
+            List<Object[]> rows = recurringTransactionRepository.findScheduleUntil(LocalDate.now(zone).plusDays(1));
+            synchronized (wheel) {
+                for (Object[] row : rows) {
+                    Long id = (Long) row[0];
+                    long deadline = deadlineOf(id, (LocalDate) row[1]);
+                    Long scheduled = wheel.deadlineOf(id);
+
+                    if (scheduled != null && (scheduled == deadline || deadline <= now)) continue;
+
+                    added++;
+                    if (!wheel.schedule(id, deadline)) {
+                        due.add(id);
+                    }
+                }
+            }
+
+            if (added > 0) {
+                log.info("[RECURRING] [WHEEL] Rescan: {} items (re)scheduled, {} due now", added, due.size());
+            }
+            if (!due.isEmpty()) {
+                fire(due);
+            }
+        } catch (Exception e) {
+            // an exception would cancel the periodic task
+            log.error("[RECURRING] [WHEEL] Rescan failed", e);
+        }
+    }
+
+    private void fire(List<Long> ids) {
+        try {
+            int posted = recurringExecutionEngine.runItems(ids, LocalDate.now(zone));
+            log.info("[RECURRING] [WHEEL] Fired {} items, {} transactions posted", ids.size(), posted);
+        } catch (Exception e) {
+            log.error("[RECURRING] [WHEEL] Executing {} items failed", ids.size(), e);
+        }
+
+        // put the items back on the wheel at their new next execution date
+        List<Long> stillDue = scheduleRows(recurringTransactionRepository.findScheduleByIds(ids));
+        if (!stillDue.isEmpty()) {
+            long retryAt = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(retryMinutes);
+            synchronized (wheel) {
+                stillDue.forEach(id -> wheel.schedule(id, retryAt));
+            }
+            log.warn("[RECURRING] [WHEEL] {} items still due, retrying in {} min", stillDue.size(), retryMinutes);
+        }
+    }
+
+    /* Helper: schedules (id, nextExecutionDate) rows, returns the ids that are already due */
+    private List<Long> scheduleRows(Collection<Object[]> rows) {
+        List<Long> due = new ArrayList<>();
+        synchronized (wheel) {
+            for (Object[] row : rows) {
+                Long id = (Long) row[0];
+                LocalDate next = (LocalDate) row[1];
+                if (next != null && !wheel.schedule(id, deadlineOf(id, next))) {
+                    due.add(id);
+                }
+            }
+        }
+        return due;
+    }
+
+    /* Helper: start of the due day + a stable per-id offset (spreads the day's load) */
+    private long deadlineOf(long id, LocalDate date) {
+        long spreadMs = TimeUnit.HOURS.toMillis(spreadHours);
+        long offset = spreadMs > 0 ? Math.floorMod(id * 0x9E3779B97F4A7C15L, spreadMs) : 0;
+        return date.atStartOfDay(zone).toInstant().toEpochMilli() + offset;
+    }
+}
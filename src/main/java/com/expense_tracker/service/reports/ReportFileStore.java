@@ -0,0 +1,62 @@
+package com.expense_tracker.service.reports;
+
+import com.expense_tracker.model.reports.ReportJob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/*
+ * Local file store for report job output:
+ *   {job-dir}/{userId}/{jobId}.{csv|xlsx|pdf}
+ * Files are written to a temp file and moved into place once complete.
+ */
+@Slf4j
+@Component
+public class ReportFileStore {
+
+    @FunctionalInterface
+    public interface ReportWriter {
+        void write(OutputStream out) throws Exception;
+    }
+
+    @Value("${app.reports.jobs.dir:reports/jobs}")
+    private String jobDir;
+
+    // returns the final path of the written file
+    public Path write(ReportJob job, ReportWriter writer) throws Exception {
+        Path file = fileFor(job);
+        Files.createDirectories(file.getParent());
+
+        Path tmp = Files.createTempFile(file.getParent(), String.valueOf(job.getId()), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                writer.write(out);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return file;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    public void delete(ReportJob job) {
+        if (job.getFilePath() == null) return;
+        try {
+            Files.deleteIfExists(Paths.get(job.getFilePath()));
+        } catch (IOException e) {
+            log.warn("[REPORTS] [JOB] Could not delete report file {}", job.getFilePath(), e);
+        }
+    }
+
+    private Path fileFor(ReportJob job) {
+        return Paths.get(jobDir, String.valueOf(job.getUser().getId()),
+                job.getId() + "." + job.getFormat().getExtension());
+    }
+}
@@ -0,0 +1,254 @@
+package com.expense_tracker.service.reports;
+
+import com.expense_tracker.config.NodeIdentity;
+import com.expense_tracker.dto.reports.ReportJobRequestDTO;
+import com.expense_tracker.dto.reports.ReportJobResponseDTO;
+import com.expense_tracker.exception.BadRequestException;
+import com.expense_tracker.exception.ResourceNotFoundException;
+import com.expense_tracker.exception.TooManyRequestsException;
+import com.expense_tracker.model.User;
+import com.expense_tracker.model.reports.ReportJob;
+import com.expense_tracker.model.reports.ReportJobStatus;
+import com.expense_tracker.repository.UserRepository;
+import com.expense_tracker.repository.reports.ReportJobRepository;
+import com.expense_tracker.service.UserService;
+import com.expense_tracker.utility.mapper.ReportJobMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * Background report exports. Jobs are persisted, run on a small bounded pool
+ * (so export bursts never tie up request threads) and their output is written
+ * to the ReportFileStore, from where clients download it.
+ *
+ * Each job is owned by the node that queued it. The owner refreshes a heartbeat on its
+ * queued/running jobs; jobs whose heartbeat went stale (owner crashed or restarted) are
+ * failed by whichever node sweeps first, and the owner's own status updates are
+ * conditional, so a late completion never overwrites that FAILED.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportJobService {
+
+    private static final Set<ReportJobStatus> ACTIVE =
+            EnumSet.of(ReportJobStatus.QUEUED, ReportJobStatus.RUNNING);
+
+    private final ReportJobRepository reportJobRepository;
+    private final ReportsService reportsService;
+    private final ReportFileStore reportFileStore;
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final NodeIdentity nodeIdentity;
+
+    @Value("${app.reports.jobs.pool-size:2}")
+    private int poolSize;
+
+    @Value("${app.reports.jobs.queue-capacity:50}")
+    private int queueCapacity;
+
+    @Value("${app.reports.jobs.max-per-user:2}")  // queued + running jobs per user
+    private int maxJobsPerUser;
+
+    @Value("${app.reports.jobs.retention-hours:24}")
+    private int retentionHours;
+
+    @Value("${app.reports.jobs.stale-minutes:5}")  // missed heartbeats before another node fails a job
+    private int staleMinutes;
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    @PostConstruct
+    void startExecutor() {
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        executor.shutdown();
+    }
+
+    public ReportJobResponseDTO submit(ReportJobRequestDTO dto) {
+        if (dto.getFormat() == null || dto.getStart() == null || dto.getEnd() == null) {
+            throw new BadRequestException("format, start and end are required");
+        }
+        if (dto.getEnd().isBefore(dto.getStart())) {
+            throw new BadRequestException("end must not be before start");
+        }
+
+        User user = userService.getCurrentUser();
+        ReportJob job = createJob(user, dto);
+
+        try {
+            Long jobId = job.getId();
+            executor.execute(() -> run(jobId));
+        } catch (TaskRejectedException e) {
+            markFailed(job.getId(), "Report queue is full");
+            throw new TooManyRequestsException("Too many reports are being generated, please try again later");
+        }
+
+        log.info("[REPORTS] [JOB] Queued job {} ({} {}..{}) for user {}",
+                job.getId(), job.getFormat(), job.getStartDate(), job.getEndDate(), user.getId());
+        return ReportJobMapper.toDTO(job);
+    }
+
+    public ReportJobResponseDTO getJob(Long jobId) {
+        return ReportJobMapper.toDTO(findOwnJob(jobId));
+    }
+
+    public List<ReportJobResponseDTO> getJobs() {
+        User user = userService.getCurrentUser();
+        return reportJobRepository.findByUserIdOrderByCreatedAtDesc(user.getId())
+                .stream()
+                .map(ReportJobMapper::toDTO)
+                .toList();
+    }
+
+    public ReportJob getCompletedJob(Long jobId) {
+        ReportJob job = findOwnJob(jobId);
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new BadRequestException("Report " + jobId + " is not ready (status " + job.getStatus() + ")");
+        }
+        return job;
+    }
+
+    public Resource getFile(ReportJob job) {
+        Path file = Paths.get(job.getFilePath());
+        if (!Files.isReadable(file)) {
+            throw new ResourceNotFoundException("Report file for job " + job.getId() + " has expired");
+        }
+        return new FileSystemResource(file);
+    }
+
+    // Executed on the report pool
+    void run(Long jobId) {
+        String owner = nodeIdentity.getId();
+        LocalDateTime startedAt = LocalDateTime.now();
+        if (reportJobRepository.markRunning(jobId, owner, startedAt) == 0) return; // gone or failed as stale
+
+        ReportJob job = reportJobRepository.findById(jobId).orElse(null);
+        if (job == null) return;
+
+        Long userId = job.getUser().getId();
+        LocalDate start = job.getStartDate();
+        LocalDate endExclusive = job.getEndDate().plusDays(1);
+
+        try {
+            Path file = reportFileStore.write(job, out -> {
+                switch (job.getFormat()) {
+                    case CSV -> reportsService.writeCSV(userId, start, endExclusive, out);
+                    case EXCEL -> reportsService.writeExcel(userId, start, endExclusive, out);
+                    case PDF -> reportsService.writeStatementPdf(job.getUser(), start, endExclusive, out);
+                }
+            });
+
+            long fileSize = Files.size(file);
+            job.setFilePath(file.toString());
+            if (reportJobRepository.markCompleted(jobId, owner, file.toString(), fileSize, LocalDateTime.now()) == 0) {
+                log.warn("[REPORTS] [JOB] Job {} was failed while running, discarding its file", jobId);
+                reportFileStore.delete(job);
+                return;
+            }
+
+            log.info("[REPORTS] [JOB] Job {} completed in {} ms ({} bytes)", jobId,
+                    Duration.between(startedAt, LocalDateTime.now()).toMillis(), fileSize);
+        } catch (Exception e) {
+            log.error("[REPORTS] [JOB] Job {} failed", jobId, e);
+            markFailed(jobId, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    // Runs every minute, tells the other nodes this node's jobs are still alive
+    @Scheduled(fixedDelayString = "${app.reports.jobs.heartbeat-ms:60000}")
+    public void heartbeat() {
+        reportJobRepository.heartbeat(nodeIdentity.getId(), ACTIVE, LocalDateTime.now());
+    }
+
+    // Jobs whose node crashed or restarted will never complete (on startup, then every few minutes)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 */5 * * * *")
+    public void failInterruptedJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        int failed = reportJobRepository.failStale(ACTIVE, now.minusMinutes(staleMinutes),
+                "Interrupted by server restart", now);
+        if (failed > 0) {
+            log.warn("[REPORTS] [JOB] Marked {} interrupted jobs as FAILED", failed);
+        }
+    }
+
+    // Runs every hour, removes expired jobs and their files
+    @Scheduled(cron = "0 0 * * * *")
+    public void purgeExpiredJobs() {
+        List<ReportJob> expired = reportJobRepository.findByCreatedAtBefore(
+                LocalDateTime.now().minusHours(retentionHours));
+
+        expired.stream()
+                .filter(job -> !ACTIVE.contains(job.getStatus()))
+                .forEach(job -> {
+                    reportFileStore.delete(job);
+                    reportJobRepository.delete(job);
+                });
+
+        log.info("[REPORTS] [JOB] Purged {} expired report jobs", expired.size());
+    }
+
+    // check + insert while holding the user's row lock, so concurrent submits on any node cannot exceed the cap
+    private ReportJob createJob(User user, ReportJobRequestDTO dto) {
+        return transactionTemplate.execute(status -> {
+            userRepository.lockById(user.getId());
+            long active = reportJobRepository.countByUserIdAndStatusIn(user.getId(), ACTIVE);
+            if (active >= maxJobsPerUser) {
+                throw new TooManyRequestsException(
+                        "You already have " + active + " reports in progress, please wait for them to finish");
+            }
+
+            return reportJobRepository.save(ReportJob.builder()
+                    .user(user)
+                    .format(dto.getFormat())
+                    .startDate(dto.getStart())
+                    .endDate(dto.getEnd())
+                    .ownerNode(nodeIdentity.getId())
+                    .heartbeatAt(LocalDateTime.now())
+                    .build());
+        });
+    }
+
+    private ReportJob findOwnJob(Long jobId) {
+        User user = userService.getCurrentUser();
+        return reportJobRepository.findByIdAndUserId(jobId, user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Report job with id " + jobId + " not found"));
+    }
+
+    private void markFailed(Long jobId, String reason) {
+        reportJobRepository.markFailed(jobId, nodeIdentity.getId(), ACTIVE,
+                reason.length() > 500 ? reason.substring(0, 500) : reason, LocalDateTime.now());
+    }
+}
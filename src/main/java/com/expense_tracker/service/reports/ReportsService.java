@@ -12,22 +12,28 @@ import com.lowagie.text.Phrase;
 import com.lowagie.text.pdf.PdfPCell;
 import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
-import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
-import jakarta.annotation.Nullable;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.thymeleaf.context.Context;
-import org.thymeleaf.spring6.SpringTemplateEngine;
 
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.*;
 import java.util.stream.Stream;
 
@@ -37,7 +43,14 @@ public class ReportsService {
 
     private final TransactionRepository transactionRepository;
     private final UserService userService;
-    private final SpringTemplateEngine templateEngine; // autowired
+    private final StatementPdfRenderer statementPdfRenderer;
+    private final StatementPdfCache statementPdfCache;
+    private final EntityManager entityManager;
+
+    private static final int STREAM_CHUNK_SIZE = 500;
+
+    @Value("${app.reports.excel.row-window:100}")  // rows kept in memory by SXSSF
+    private int excelRowWindow;
 
 
 
@@ -62,61 +75,77 @@ public class ReportsService {
 
 
     //CSV
-    public byte[] exportCSV(int month, int year) throws Exception {
-        User user = userService.getCurrentUser();
-
-        List<Transaction> transactions = transactionRepository.findByUserIdAndMonthAndYear(user.getId(), month, year);
-
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        CSVPrinter csvPrinter = new CSVPrinter(new OutputStreamWriter(out), CSVFormat.DEFAULT.withHeader("Date",
+    // Writes rows straight to the output; the persistence context is cleared every
+    // STREAM_CHUNK_SIZE rows so memory stays flat regardless of the number of transactions.
+    @Transactional(readOnly = true)
+    public void writeCSV(Long userId, LocalDate start, LocalDate end, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT.withHeader("Date",
                 "Amount", "Type", "Category", "Notes"));
 
-        for (Transaction t : transactions) {
-            csvPrinter.printRecord(
-                    t.getDate(),
-                    t.getAmount(),
-                    t.getType(),
-                    t.getCategory() != null ? t.getCategory().getName() : "General",
-                    t.getNotes() != null ? t.getNotes() : ""
-            );
+        try (Stream<Transaction> transactions =
+                     transactionRepository.streamByUserIdAndDateRange(userId, start, end)) {
+
+            int rows = 0;
+            for (Transaction t : (Iterable<Transaction>) transactions::iterator) {
+                csvPrinter.printRecord(
+                        t.getDate(),
+                        t.getAmount(),
+                        t.getType(),
+                        t.getCategory() != null ? t.getCategory().getName() : "General",
+                        t.getNotes() != null ? t.getNotes() : ""
+                );
+
+                if (++rows % STREAM_CHUNK_SIZE == 0) {
+                    csvPrinter.flush();
+                    entityManager.clear();
+                }
+            }
         }
 
         csvPrinter.flush();
-        return out.toByteArray();
     }
 
     // Excel export
+    // SXSSF keeps only excelRowWindow rows in memory and spills older rows to a
+    // compressed temp file, so any date range (month, quarter, year) can be exported.
+    @Transactional(readOnly = true)
+    public void writeExcel(Long userId, LocalDate start, LocalDate end, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(excelRowWindow);
+        workbook.setCompressTempFiles(true);
 
-    public byte[] exportExcel(int month, int year) throws Exception {
-        System.out.println("Entered in the exportExcel service");
-        User user = userService.getCurrentUser();
-        List<Transaction> transactions = transactionRepository.findByUserIdAndMonthAndYear(user.getId(), month, year);
+        try (Stream<Transaction> transactions =
+                     transactionRepository.streamByUserIdAndDateRange(userId, start, end)) {
 
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("Transactions");
+            Sheet sheet = workbook.createSheet("Transactions");
 
-        Row header = sheet.createRow(0);
-        String[] columns = {"Date", "Amount", "Type", "Category", "Notes"};
+            Row header = sheet.createRow(0);
+            String[] columns = {"Date", "Amount", "Type", "Category", "Notes"};
 
-        for (int i = 0; i < columns.length; i++) {
-            Cell cell = header.createCell(i);
-            cell.setCellValue(columns[i]);
-        }
+            for (int i = 0; i < columns.length; i++) {
+                Cell cell = header.createCell(i);
+                cell.setCellValue(columns[i]);
+            }
 
-        int rowNum = 1;
-        for (Transaction t : transactions) {
-            Row row = sheet.createRow(rowNum++);
-            row.createCell(0).setCellValue(t.getDate().toString());
-            row.createCell(1).setCellValue(t.getAmount());
-            row.createCell(2).setCellValue(t.getType().name());
-            row.createCell(3).setCellValue(t.getCategory() != null ? t.getCategory().getName() : "General");
-            row.createCell(4).setCellValue(t.getNotes() != null ? t.getNotes() : "");
-        }
+            int rowNum = 1;
+            for (Transaction t : (Iterable<Transaction>) transactions::iterator) {
+                Row row = sheet.createRow(rowNum++);
+                row.createCell(0).setCellValue(t.getDate().toString());
+                row.createCell(1).setCellValue(t.getAmount());
+                row.createCell(2).setCellValue(t.getType().name());
+                row.createCell(3).setCellValue(t.getCategory() != null ? t.getCategory().getName() : "General");
+                row.createCell(4).setCellValue(t.getNotes() != null ? t.getNotes() : "");
+
+                if (rowNum % STREAM_CHUNK_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
 
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        workbook.write(out);
-        workbook.close();
-        return out.toByteArray();
+            workbook.write(out);
+        } finally {
+            workbook.dispose(); // delete temp files
+            workbook.close();
+        }
     }
 
     // PDF Export -> iText 7
@@ -241,7 +270,7 @@ public class ReportsService {
 
         User user = userService.getCurrentUser();
         List<Transaction> transactions =
-                transactionRepository.findByUserIdAndMonthAndYear(user.getId(), month, year);
+                findMonthTransactions(user.getId(), month, year);
 
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         Document document = new Document();
@@ -389,12 +418,45 @@ public class ReportsService {
     }
 
 
-    public byte[] exportMonthlyHtmlPdf(int month, int year, @Nullable byte[] logoBytes) throws Exception {
+    public byte[] exportMonthlyHtmlPdf(int month, int year) throws Exception {
         User user = userService.getCurrentUser();
         Long userId = user.getId();
+        YearMonth period = YearMonth.of(year, month);
+
+        List<Transaction> transactions = findMonthTransactions(userId, month, year);
+
+        // past months are immutable -> serve the rendered PDF from the disk cache
+        boolean cacheable = period.isBefore(YearMonth.now());
+        String cacheKey = null;
+        if (cacheable) {
+            cacheKey = statementPdfCache.keyFor(user, period, transactions);
+            Optional<byte[]> cached = statementPdfCache.get(userId, period, cacheKey);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+
+        Context ctx = statementContext(user, month + " / " + year, transactions);
 
-        List<Transaction> transactions = transactionRepository.findByUserIdAndMonthAndYear(userId, month, year);
+        byte[] pdf = statementPdfRenderer.render("monthly_statement", ctx);
 
+        if (cacheable) {
+            statementPdfCache.put(userId, period, cacheKey, pdf);
+        }
+        return pdf;
+    }
+
+    // Statement over any date range [start, end), used by background report jobs
+    @Transactional(readOnly = true)
+    public void writeStatementPdf(User user, LocalDate start, LocalDate end, OutputStream out) throws IOException {
+        List<Transaction> transactions =
+                transactionRepository.findByUserIdAndDateRange(user.getId(), start, end);
+
+        Context ctx = statementContext(user, start + " – " + end.minusDays(1), transactions);
+        out.write(statementPdfRenderer.render("monthly_statement", ctx));
+    }
+
+    private Context statementContext(User user, String period, List<Transaction> transactions) {
         // compute totals
         double income = transactions.stream()
                 .filter(t -> t.getType() == TransactionType.INCOME)
@@ -413,8 +475,7 @@ public class ReportsService {
         // prepare Thymeleaf context
         Context ctx = new Context();
         ctx.setVariable("user", user);
-        ctx.setVariable("month", month);
-        ctx.setVariable("year", year);
+        ctx.setVariable("period", period);
         ctx.setVariable("income", income);
         ctx.setVariable("expense", expense);
         ctx.setVariable("savings", savings);
@@ -433,27 +494,12 @@ public class ReportsService {
 
         ctx.setVariable("transactions", transactions);
         ctx.setVariable("generatedDate", java.time.LocalDate.now().toString());
-
-        if (logoBytes != null) {
-            String logoBase64 = Base64.getEncoder().encodeToString(logoBytes);
-            ctx.setVariable("logoBase64", logoBase64);
-        }
-
-        // render HTML via Thymeleaf
-        String html = templateEngine.process("monthly_statement", ctx);
-
-        // convert HTML to PDF using OpenHTMLToPDF
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            PdfRendererBuilder builder = new PdfRendererBuilder();
-            builder.withHtmlContent(html, null);
-            // optional: register fonts if needed
-            // builder.useFont(() -> new File("..."), "YourFontName");
-
-            builder.toStream(out);
-            builder.run();
-            return out.toByteArray();
-        }
+        return ctx;
     }
 
+    private List<Transaction> findMonthTransactions(Long userId, int month, int year) {
+        LocalDate start = LocalDate.of(year, month, 1);
+        return transactionRepository.findByUserIdAndDateRange(userId, start, start.plusMonths(1));
+    }
 
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.expense_tracker.service.reports;
+
+import com.expense_tracker.model.Transaction;
+import com.expense_tracker.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/*
+ * Content-addressed disk cache for rendered monthly statements:
+ *   {cache-dir}/{userId}/{yyyy-MM}/{sha256 of the statement data}.pdf
+ * A changed transaction produces a new hash; TransactionService also evicts
+ * the month directory on every write so stale files do not pile up.
+ */
+@Slf4j
+@Component
+public class StatementPdfCache {
+
+    // bump when the template or the rendered fields change
+    private static final String FORMAT_VERSION = "v1";
+
+    @Value("${app.reports.pdf-cache-dir:cache/statements}")
+    private String cacheDir;
+
+    public String keyFor(User user, YearMonth month, List<Transaction> transactions) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, FORMAT_VERSION, user.getId(), user.getName(), month);
+
+            transactions.stream()
+                    .sorted(Comparator.comparing(Transaction::getId))
+                    .forEach(t -> update(digest,
+                            t.getId(),
+                            t.getDate(),
+                            t.getAmount(),
+                            t.getType(),
+                            t.getCategory() != null ? t.getCategory().getName() : null,
+                            t.getNotes(),
+                            t.isArchived()));
+
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public Optional<byte[]> get(Long userId, YearMonth month, String key) {
+        Path file = fileFor(userId, month, key);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Files.readAllBytes(file));
+        } catch (IOException e) {
+            log.warn("[REPORTS] Could not read cached statement {}", file, e);
+            return Optional.empty();
+        }
+    }
+
+    public void put(Long userId, YearMonth month, String key, byte[] pdf) {
+        Path file = fileFor(userId, month, key);
+        try {
+            Files.createDirectories(file.getParent());
+
+            // write to a temp file first so readers never see a partial PDF
+            Path tmp = Files.createTempFile(file.getParent(), key, ".tmp");
+            Files.write(tmp, pdf);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("[REPORTS] Could not cache statement {}", file, e);
+        }
+    }
+
+    public void evict(Long userId, YearMonth month) {
+        try {
+            FileSystemUtils.deleteRecursively(monthDir(userId, month));
+        } catch (IOException e) {
+            log.warn("[REPORTS] Could not evict cached statements for user {} {}", userId, month, e);
+        }
+    }
+
+    private Path monthDir(Long userId, YearMonth month) {
+        return Paths.get(cacheDir, String.valueOf(userId), month.toString());
+    }
+
+    private Path fileFor(Long userId, YearMonth month, String key) {
+        return monthDir(userId, month).resolve(key + ".pdf");
+    }
+
+    private static void update(MessageDigest digest, Object... values) {
+        for (Object value : values) {
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0x1F); // field separator
+        }
+    }
+}
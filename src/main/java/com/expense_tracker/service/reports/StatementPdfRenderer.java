@@ -0,0 +1,101 @@
+package com.expense_tracker.service.reports;
+
+import com.openhtmltopdf.extend.impl.FSDefaultCacheStore;
+import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+
+/*
+ * HTML -> PDF rendering for statements. Everything that does not depend on the
+ * request (logo, font metrics) is loaded once and shared between renders;
+ * the Thymeleaf template itself is cached by the template engine.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatementPdfRenderer {
+
+    private static final String LOGO_PATH = "static/images/logo.png";
+
+    // the template shows the logo at 80x80 px; keep 2x for print quality
+    private static final int LOGO_MAX_SIZE = 160;
+
+    private final SpringTemplateEngine templateEngine;
+
+    // font metrics parsed by the renderer are reused across builders
+    private final FSDefaultCacheStore fontMetricsCache = new FSDefaultCacheStore();
+
+    private String logoDataUri;
+
+    @PostConstruct
+    void loadResources() {
+        ClassPathResource logo = new ClassPathResource(LOGO_PATH);
+        try (InputStream in = logo.getInputStream()) {
+            BufferedImage image = ImageIO.read(in);
+            if (image == null) {
+                log.warn("[REPORTS] Statement logo {} is not a readable image", LOGO_PATH);
+                return;
+            }
+            logoDataUri = "data:image/png;base64," + Base64.getEncoder().encodeToString(toPng(scaleDown(image)));
+        } catch (IOException e) {
+            log.warn("[REPORTS] Statement logo {} could not be loaded, rendering without it", LOGO_PATH);
+        }
+    }
+
+    public byte[] render(String template, Context ctx) throws IOException {
+        if (logoDataUri != null && !ctx.containsVariable("logoDataUri")) {
+            ctx.setVariable("logoDataUri", logoDataUri);
+        }
+
+        // render HTML via Thymeleaf
+        String html = templateEngine.process(template, ctx);
+
+        // convert HTML to PDF using OpenHTMLToPDF
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PdfRendererBuilder builder = new PdfRendererBuilder();
+            builder.useFastMode();
+            builder.useCacheStore(PdfRendererBuilder.CacheStore.PDF_FONT_METRICS, fontMetricsCache);
+            builder.withHtmlContent(html, null);
+            builder.toStream(out);
+            builder.run();
+            return out.toByteArray();
+        }
+    }
+
+    /* Helper: the source logo is ~1 MB, shrink it once instead of embedding it in every PDF */
+    private static BufferedImage scaleDown(BufferedImage image) {
+        double scale = Math.min(1.0,
+                (double) LOGO_MAX_SIZE / Math.max(image.getWidth(), image.getHeight()));
+        if (scale == 1.0) return image;
+
+        int width = (int) Math.round(image.getWidth() * scale);
+        int height = (int) Math.round(image.getHeight() * scale);
+
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scaled.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g.drawImage(image, 0, 0, width, height, null);
+        g.dispose();
+        return scaled;
+    }
+
+    private static byte[] toPng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,31 @@
+package com.expense_tracker.service.transaction;
+
+import com.expense_tracker.dto.transaction.TransactionResponseDTO;
+import com.expense_tracker.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+// Position in the (date DESC, id DESC) listing, exchanged with clients as an opaque token
+record TransactionCursor(LocalDate date, Long id) {
+
+    static TransactionCursor after(TransactionResponseDTO last) {
+        return new TransactionCursor(last.getDate(), last.getId());
+    }
+
+    String encode() {
+        String raw = date + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new TransactionCursor(LocalDate.parse(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.expense_tracker.service.transaction;
 
+import com.expense_tracker.dto.transaction.TransactionCursorPageDTO;
 import com.expense_tracker.dto.transaction.TransactionRequestDTO;
+import com.expense_tracker.dto.transaction.TransactionResponseDTO;
+import com.expense_tracker.dto.transaction.TransactionSearchCriteria;
 import com.expense_tracker.exception.ResourceNotFoundException;
 import com.expense_tracker.model.Category;
 import com.expense_tracker.model.Transaction;
@@ -8,13 +11,19 @@ import com.expense_tracker.model.TransactionType;
 import com.expense_tracker.model.User;
 import com.expense_tracker.repository.CategoryRepository;
 import com.expense_tracker.repository.TransactionRepository;
+import com.expense_tracker.repository.TransactionSpecifications;
 import com.expense_tracker.service.UserService;
 import com.expense_tracker.service.admin.AdminService;
+import com.expense_tracker.service.analytics.MonthlyRollupService;
 import com.expense_tracker.service.budget.BudgetService;
+import com.expense_tracker.service.reports.StatementPdfCache;
+import com.expense_tracker.utility.mapper.TransactionMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -23,6 +32,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -33,7 +45,11 @@ public class TransactionService {
     private final UserService userService;
     private final BudgetService budgetService;
     private final AdminService adminService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final StatementPdfCache statementPdfCache;
 
+    // Transactional: the row, the budget delta and the rollup delta commit together
+    @Transactional
     public Transaction addTransaction(TransactionRequestDTO dto, Long userId) {
         User user = userService.getUserById(userId);
 
@@ -55,7 +71,9 @@ public class TransactionService {
 
 
         // Update budget after creating transaction
-        budgetService.updateSpentForBudget(saved);
+        budgetService.applySpentDelta(null, saved);
+        monthlyRollupService.applyDelta(null, saved);
+        evictStatements(null, saved);
 
         // Clear Admin Dashboard cache so stats are refreshed
         adminService.clearDashboardCache();
@@ -78,18 +96,15 @@ public class TransactionService {
 //        return transactionRepository.save(t);
 //    }
 
+    // Transactional so the saved entity stays the managed instance with its category loaded
+    @Transactional
     public Transaction updateTransaction(Long id, Transaction incoming) {
 
-        Transaction existing = transactionRepository.findById(id)
+        Transaction existing = transactionRepository.findWithCategoryById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found"));
 
-        // Store snapshot to recalc old budget
-        Transaction oldSnapshot = new Transaction();
-        oldSnapshot.setUser(existing.getUser());
-        oldSnapshot.setDate(existing.getDate());
-        oldSnapshot.setCategory(existing.getCategory());
-        oldSnapshot.setAmount(existing.getAmount());
-        oldSnapshot.setType(existing.getType());
+        // Store snapshot to compute the budget delta
+        Transaction oldSnapshot = snapshotOf(existing);
 
         // Only update non-null fields
         if (incoming.getType() != null)
@@ -122,8 +137,9 @@ public class TransactionService {
         Transaction saved = transactionRepository.save(existing);
 
         // 🚀 Update budgets (old and new)
-        budgetService.updateSpentForBudget(oldSnapshot);
-        budgetService.updateSpentForBudget(saved);
+        budgetService.applySpentDelta(oldSnapshot, saved);
+        monthlyRollupService.applyDelta(oldSnapshot, saved);
+        evictStatements(oldSnapshot, saved);
 
         adminService.clearDashboardCache(); // clear cache
 
@@ -131,52 +147,89 @@ public class TransactionService {
     }
 
 
+    @Transactional
     public void softDelete(Long id) {
         Transaction t = transactionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found"));
 
+        Transaction oldSnapshot = snapshotOf(t);
+
         t.setArchived(true);
         transactionRepository.save(t);
 
         // 🚀 Recalculate budgets after deletion
-        budgetService.updateSpentForBudget(t);
+        budgetService.applySpentDelta(oldSnapshot, t);
+        monthlyRollupService.applyDelta(oldSnapshot, t);
+        evictStatements(oldSnapshot, t);
         adminService.clearDashboardCache(); // clear cache
 
     }
 
+    @Transactional
     public void restore(Long id) {
         Transaction t = transactionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found"));
 
+        Transaction oldSnapshot = snapshotOf(t);
+
         t.setArchived(false);
         transactionRepository.save(t);
 
         // 🚀 Recalculate budgets after restore
-        budgetService.updateSpentForBudget(t);
+        budgetService.applySpentDelta(oldSnapshot, t);
+        monthlyRollupService.applyDelta(oldSnapshot, t);
+        evictStatements(oldSnapshot, t);
+    }
+
+    public Page<TransactionResponseDTO> getAll(Long userId, int page, int size) {
+        return transactionRepository.findViews(userId, PageRequest.of(page, size))
+                .map(TransactionMapper::toDTO);
     }
 
-    public Page<Transaction> getAll(Long userId, int page, int size) {
-        return transactionRepository.findByUser_IdAndArchivedFalse(userId, PageRequest.of(page, size));
+    public Page<TransactionResponseDTO> filterByType(Long userId, TransactionType type, int page, int size) {
+        return transactionRepository.findViewsByType(userId, type, PageRequest.of(page, size))
+                .map(TransactionMapper::toDTO);
     }
 
-    public Page<Transaction> filterByType(Long userId, TransactionType type, int page, int size) {
-        return transactionRepository.findByUser_IdAndTypeAndArchivedFalse(userId, type, PageRequest.of(page, size));
+    public Page<TransactionResponseDTO> filterByCategory(Long userId, Long categoryId, int page, int size) {
+        return transactionRepository.findViewsByCategory(userId, categoryId, PageRequest.of(page, size))
+                .map(TransactionMapper::toDTO);
     }
 
-    public Page<Transaction> filterByCategory(Long userId, Long categoryId, int page, int size) {
-        return transactionRepository.findByUser_IdAndCategory_IdAndArchivedFalse(userId, categoryId,
-                PageRequest.of(page, size));
+    public Page<TransactionResponseDTO> filterByDateRange(Long userId, LocalDate start, LocalDate end,
+                                                          int page, int size) {
+        return transactionRepository.findViewsByDateRange(userId, start, end, PageRequest.of(page, size))
+                .map(TransactionMapper::toDTO);
     }
 
-    public Page<Transaction> filterByDateRange(Long userId, LocalDate start, LocalDate end, int page, int size) {
-        return transactionRepository.findByUser_IdAndDateBetweenAndArchivedFalse(userId, start, end,
-                PageRequest.of(page, size));
+    // Keyset listing, newest first: no OFFSET and no COUNT(*) per page
+    public TransactionCursorPageDTO listByCursor(Long userId, TransactionType type, Long categoryId,
+                                                 LocalDate start, LocalDate endExclusive,
+                                                 String cursor, int limit, boolean includeTotal) {
+        Specification<Transaction> filters = toSpecification(userId, TransactionSearchCriteria.builder()
+                .type(type)
+                .categoryIds(categoryId != null ? Set.of(categoryId) : null)
+                .start(start)
+                .endExclusive(endExclusive)
+                .build());
+
+        TransactionCursorPageDTO page = fetchPage(filters, cursor, limit);
+        if (includeTotal) {
+            page.setTotal(countMatching(userId, type, categoryId, start, endExclusive, filters));
+        }
+        return page;
+    }
+
+    // Every filter combined into one query, same keyset paging as listByCursor
+    public TransactionCursorPageDTO search(Long userId, TransactionSearchCriteria criteria, String cursor, int limit) {
+        return fetchPage(toSpecification(userId, criteria), cursor, limit);
     }
 
+    @Transactional
     public Transaction attachReceipt(MultipartFile file, Long transactionId, Long userId) throws IOException {
 
         // 1. Load transaction
-        Transaction tx = transactionRepository.findById(transactionId)
+        Transaction tx = transactionRepository.findWithCategoryById(transactionId)
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
 
         // 2. Security check — prevent updating other users' transactions
@@ -202,4 +255,86 @@ public class TransactionService {
         return transactionRepository.save(tx);
     }
 
-}
\ No newline at end of file
+    // drop cached PDF statements of the month(s) touched by a write
+    private void evictStatements(Transaction previous, Transaction current) {
+        if (previous != null) {
+            statementPdfCache.evict(previous.getUser().getId(), YearMonth.from(previous.getDate()));
+        }
+        statementPdfCache.evict(current.getUser().getId(), YearMonth.from(current.getDate()));
+    }
+
+    // copy of the fields that decide which budget a transaction counts towards
+    private Transaction snapshotOf(Transaction t) {
+        Transaction snapshot = new Transaction();
+        snapshot.setUser(t.getUser());
+        snapshot.setDate(t.getDate());
+        snapshot.setCategory(t.getCategory());
+        snapshot.setAmount(t.getAmount());
+        snapshot.setType(t.getType());
+        snapshot.setArchived(t.isArchived());
+        return snapshot;
+    }
+
+    /* Helper: only the filters that are set become predicates */
+    private Specification<Transaction> toSpecification(Long userId, TransactionSearchCriteria criteria) {
+        Specification<Transaction> spec = TransactionSpecifications.liveOf(userId);
+
+        if (criteria.getType() != null) {
+            spec = spec.and(TransactionSpecifications.hasType(criteria.getType()));
+        }
+        if (criteria.getCategoryIds() != null && !criteria.getCategoryIds().isEmpty()) {
+            spec = spec.and(criteria.getCategoryIds().size() == 1
+                    ? TransactionSpecifications.inCategory(criteria.getCategoryIds().iterator().next())
+                    : TransactionSpecifications.inCategories(criteria.getCategoryIds()));
+        }
+        if (criteria.getStart() != null) {
+            spec = spec.and(TransactionSpecifications.dateFrom(criteria.getStart()));
+        }
+        if (criteria.getEndExclusive() != null) {
+            spec = spec.and(TransactionSpecifications.dateBefore(criteria.getEndExclusive()));
+        }
+        if (criteria.getMinAmount() != null) {
+            spec = spec.and(TransactionSpecifications.amountAtLeast(criteria.getMinAmount()));
+        }
+        if (criteria.getMaxAmount() != null) {
+            spec = spec.and(TransactionSpecifications.amountAtMost(criteria.getMaxAmount()));
+        }
+        if (criteria.getNotes() != null && !criteria.getNotes().isBlank()) {
+            spec = spec.and(TransactionSpecifications.notesContain(criteria.getNotes().trim()));
+        }
+        return spec;
+    }
+
+    /* Helper: one page after the cursor; one extra row tells us whether there is a next page */
+    private TransactionCursorPageDTO fetchPage(Specification<Transaction> filters, String cursor, int limit) {
+        Specification<Transaction> spec = filters;
+        if (cursor != null && !cursor.isBlank()) {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            spec = spec.and(TransactionSpecifications.seekAfter(position.date(), position.id()));
+        }
+
+        List<TransactionResponseDTO> rows = transactionRepository.findPage(spec, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<TransactionResponseDTO> items = hasMore ? rows.subList(0, limit) : rows;
+
+        return TransactionCursorPageDTO.builder()
+                .items(items)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? TransactionCursor.after(items.get(items.size() - 1)).encode() : null)
+                .build();
+    }
+
+    /* Helper: whole-month ranges are answered from the monthly rollups, anything else is counted */
+    private long countMatching(Long userId, TransactionType type, Long categoryId,
+                               LocalDate start, LocalDate endExclusive, Specification<Transaction> filters) {
+        boolean monthAligned = (start == null || start.getDayOfMonth() == 1)
+                && (endExclusive == null || endExclusive.getDayOfMonth() == 1);
+
+        if (monthAligned) {
+            return monthlyRollupService.countTransactions(userId, type, categoryId,
+                    start != null ? YearMonth.from(start) : null,
+                    endExclusive != null ? YearMonth.from(endExclusive) : null);
+        }
+        return transactionRepository.count(filters);
+    }
+}
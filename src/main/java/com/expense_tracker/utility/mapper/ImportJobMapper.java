@@ -0,0 +1,28 @@
+package com.expense_tracker.utility.mapper;
+
+import com.expense_tracker.dto.imports.ImportJobResponseDTO;
+import com.expense_tracker.model.imports.ImportJob;
+
+import java.util.List;
+
+public class ImportJobMapper {
+
+    public static ImportJobResponseDTO toDTO(ImportJob job) {
+        if (job == null) return null;
+
+        return ImportJobResponseDTO.builder()
+                .id(job.getId())
+                .format(job.getFormat())
+                .status(job.getStatus())
+                .fileName(job.getFileName())
+                .processedRows(job.getProcessedRows())
+                .importedRows(job.getImportedRows())
+                .skippedRows(job.getSkippedRows())
+                .rowErrors(job.getRowErrors() != null ? List.of(job.getRowErrors().split("\n")) : List.of())
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.expense_tracker.utility.mapper;
+
+import com.expense_tracker.dto.reports.ReportJobResponseDTO;
+import com.expense_tracker.model.reports.ReportJob;
+import com.expense_tracker.model.reports.ReportJobStatus;
+
+public class ReportJobMapper {
+
+    public static ReportJobResponseDTO toDTO(ReportJob job) {
+        if (job == null) return null;
+
+        return ReportJobResponseDTO.builder()
+                .id(job.getId())
+                .format(job.getFormat())
+                .status(job.getStatus())
+                .start(job.getStartDate())
+                .end(job.getEndDate())
+                .fileSize(job.getFileSize())
+                .errorMessage(job.getErrorMessage())
+                .downloadUrl(job.getStatus() == ReportJobStatus.COMPLETED
+                        ? "/api/reports/jobs/" + job.getId() + "/download"
+                        : null)
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.expense_tracker.utility.mapper;
 
 import com.expense_tracker.dto.transaction.TransactionResponseDTO;
+import com.expense_tracker.dto.transaction.TransactionView;
 import com.expense_tracker.model.Transaction;
 
 public class TransactionMapper {
@@ -25,4 +26,19 @@ public class TransactionMapper {
 
         return dto;
     }
-}
\ No newline at end of file
+
+    public static TransactionResponseDTO toDTO(TransactionView v) {
+        TransactionResponseDTO dto = new TransactionResponseDTO();
+
+        dto.setId(v.getId());
+        dto.setAmount(v.getAmount());
+        dto.setType(v.getType().name());
+        dto.setNotes(v.getNotes());
+        dto.setRecurring(v.getRecurring());
+        dto.setDate(v.getDate());
+        dto.setCategoryId(v.getCategoryId());
+        dto.setCategoryName(v.getCategoryName());
+
+        return dto;
+    }
+}
@@ -30,7 +30,8 @@ public class UserMapper {
                 user.getName(),
                 user.getEmail(),
                 user.getRole(),
-                user.getCreatedAt()
+                user.getCreatedAt(),
+                user.getReminderLeadDays()
         );
     }
 }
\ No newline at end of file
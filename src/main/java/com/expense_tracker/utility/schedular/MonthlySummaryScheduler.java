@@ -1,43 +1,91 @@
 package com.expense_tracker.utility.schedular;
 
+import com.expense_tracker.dto.analytics.UserMonthlyTotalsDTO;
 import com.expense_tracker.model.User;
 import com.expense_tracker.repository.TransactionRepository;
 import com.expense_tracker.service.notification.NotificationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+/*
+ * One grouped query returns (user, income, expense) for every user with
+ * transactions last month, read in keyset pages of users so memory stays bounded;
+ * each row is handed to the batched notification pipeline. Metrics: monthly_summary.run (duration), monthly_summary.query
+ * (time spent fetching rows) and monthly_summary.rows.
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class MonthlySummaryScheduler {
 
     private final TransactionRepository transactionRepository;
     private final NotificationService notificationService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.summary.page-size:500}")
+    private int pageSize;
 
     @Scheduled(cron = "0 0 10 1 * *")  // runs on 1st of every month
     public void sendMonthlySummary() {
+        long runStart = System.nanoTime();
+        long queryNanos = 0;
+        int rows = 0;
 
         LocalDate start = LocalDate.now().minusMonths(1).withDayOfMonth(1);
-        LocalDate end = start.withDayOfMonth(start.lengthOfMonth());
-
-        List<User> users = transactionRepository.findDistinctUsers();
-
-        for (User user : users) {
-            double income = transactionRepository.sumIncome(user.getId(), start, end);
-            double expense = transactionRepository.sumExpense(user.getId(), start, end);
-            double savings = income - expense;
-
-            notificationService.sendNotification(
-                    user,
-                    "Monthly Summary",
-                    "📅 Monthly Summary:\n" +
-                            "Income: ₹" + income + "\n" +
-                            "Expense: ₹" + expense + "\n" +
-                            "Savings: ₹" + savings
-            );
+        LocalDate end = start.plusMonths(1);
+
+        Long afterUserId = 0L;
+        while (true) {
+            long fetchStart = System.nanoTime();
+            List<UserMonthlyTotalsDTO> page = transactionRepository.findMonthlyTotalsByUser(
+                    start, end, afterUserId, PageRequest.of(0, pageSize));
+            queryNanos += System.nanoTime() - fetchStart;
+
+            if (page.isEmpty()) break;
+            rows += page.size();
+            afterUserId = page.get(page.size() - 1).getUserId();
+
+            for (UserMonthlyTotalsDTO row : page) {
+                double income = row.getIncome();
+                double expense = row.getExpense();
+                double savings = income - expense;
+
+                notificationService.sendNotification(
+                        recipient(row),
+                        "Monthly Summary",
+                        "📅 Monthly Summary:\n" +
+                                "Income: ₹" + income + "\n" +
+                                "Expense: ₹" + expense + "\n" +
+                                "Savings: ₹" + savings
+                );
+            }
         }
+
+        long runNanos = System.nanoTime() - runStart;
+        Timer.builder("monthly_summary.run").register(meterRegistry).record(runNanos, TimeUnit.NANOSECONDS);
+        Timer.builder("monthly_summary.query").register(meterRegistry).record(queryNanos, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("monthly_summary.rows").increment(rows);
+
+        log.info("[SUMMARY] [MONTHLY] {} summaries queued in {} ms (query {} ms)",
+                rows, TimeUnit.NANOSECONDS.toMillis(runNanos), TimeUnit.NANOSECONDS.toMillis(queryNanos));
+    }
+
+    /* Helper: the notification only needs the user's id (FK), name and email, no entity load */
+    private User recipient(UserMonthlyTotalsDTO row) {
+        User user = new User();
+        user.setId(row.getUserId());
+        user.setName(row.getName());
+        user.setEmail(row.getEmail());
+        return user;
     }
-}
\ No newline at end of file
+}
@@ -1,38 +1,110 @@
 package com.expense_tracker.utility.schedular;
 
 
-import com.expense_tracker.model.Transaction;
-import com.expense_tracker.repository.TransactionRepository;
+import com.expense_tracker.dto.recurring.RecurringReminderDTO;
+import com.expense_tracker.model.User;
+import com.expense_tracker.repository.recurring.RecurringTransactionRepository;
 import com.expense_tracker.service.notification.NotificationService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
+/*
+ * Reminders come from the recurring schedule itself: for each lead time (1, 3, 7 days)
+ * one index lookup on recurring_transactions.next_execution_date finds the items due
+ * that far ahead for users who chose that lead time. Rows are read in keyset pages ordered
+ * by user, so each user gets one notification listing all their upcoming payments.
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class RecurringTransactionScheduler {
 
-    private final TransactionRepository transactionRepository;
+    private final RecurringTransactionRepository recurringTransactionRepository;
     private final NotificationService notificationService;
 
+    @Value("${app.recurring.reminders.lead-days:1,3,7}")
+    private List<Integer> leadDayOptions;
+
+    @Value("${app.recurring.reminders.default-lead-days:1}")  // users who never picked one
+    private int defaultLeadDays;
+
+    @Value("${app.recurring.reminders.page-size:500}")
+    private int pageSize;
+
     @Scheduled(cron = "0 0 9 * * *")   // daily @ 9AM
     public void sendRecurringPaymentReminder() {
+        LocalDate today = LocalDate.now();
+        int reminders = 0;
+        int users = 0;
+
+        for (int leadDays : leadDayOptions) {
+            LocalDate dueDate = today.plusDays(leadDays);
 
-        LocalDate tomorrow = LocalDate.now().plusDays(1);
+            List<RecurringReminderDTO> userRows = new ArrayList<>();
+            Long afterUserId = 0L;
+            Long afterId = 0L;
 
-        List<Transaction> upcoming = transactionRepository
-                .findByRecurringDate(tomorrow);
+            while (true) {
+                List<RecurringReminderDTO> page = recurringTransactionRepository.findReminders(
+                        dueDate, leadDays, defaultLeadDays, afterUserId, afterId, PageRequest.of(0, pageSize));
+                if (page.isEmpty()) break;
 
-        for (Transaction tx : upcoming) {
-            notificationService.sendNotification(
-                    tx.getUser(),
-                    "Recurring Payment Remainder",
-                    "💳 Reminder: Recurring payment of ₹"
-                            + tx.getAmount() + " is due tomorrow."
-            );
+                for (RecurringReminderDTO row : page) {
+                    if (!userRows.isEmpty() && !userRows.get(0).getUserId().equals(row.getUserId())) {
+                        notifyUser(userRows, leadDays);
+                        users++;
+                        userRows.clear();
+                    }
+                    userRows.add(row);
+                    reminders++;
+                }
+
+                RecurringReminderDTO last = page.get(page.size() - 1);
+                afterUserId = last.getUserId();
+                afterId = last.getRecurringId();
+            }
+            if (!userRows.isEmpty()) {
+                notifyUser(userRows, leadDays);
+                users++;
+            }
         }
+
+        log.info("[RECURRING] [REMINDER] {} upcoming payments, {} users notified", reminders, users);
+    }
+
+    /* Helper: one notification per user, covering every payment due on that day */
+    private void notifyUser(List<RecurringReminderDTO> rows, int leadDays) {
+        String due = leadDays == 1 ? "tomorrow" : "in " + leadDays + " days";
+
+        String message;
+        if (rows.size() == 1) {
+            message = "💳 Reminder: Recurring payment of ₹" + rows.get(0).getAmount() + " is due " + due + ".";
+        } else {
+            StringBuilder sb = new StringBuilder("💳 Reminder: " + rows.size() + " recurring payments are due " + due + ":");
+            for (RecurringReminderDTO row : rows) {
+                sb.append("\n- ₹").append(row.getAmount())
+                        .append(" (").append(row.getCategoryName() != null ? row.getCategoryName() : "General").append(")");
+            }
+            message = sb.toString();
+        }
+
+        notificationService.sendNotification(recipient(rows.get(0)), "Recurring Payment Remainder", message);
+    }
+
+    /* Helper: the notification only needs the user's id (FK), name and email, no entity load */
+    private User recipient(RecurringReminderDTO row) {
+        User user = new User();
+        user.setId(row.getUserId());
+        user.setName(row.getName());
+        user.setEmail(row.getEmail());
+        return user;
     }
-}
\ No newline at end of file
+}
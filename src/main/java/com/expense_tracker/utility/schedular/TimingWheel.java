@@ -0,0 +1,155 @@
+package com.expense_tracker.utility.schedular;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/*
+ * Hierarchical timing wheel keyed by id (one pending deadline per id).
+ *
+ * Level 0 has wheelSize slots of tickMs each; every further level is created on demand
+ * with slots as wide as the whole level below it, so far deadlines cost O(1) to add and
+ * are cascaded down as their slot comes up. Only non-empty slots are queued by expiry,
+ * which means advance(now) does nothing between deadlines, however far apart they are.
+ * Resolution is one tick: an id is returned by the first advance() past the start of the
+ * tick its deadline falls in.
+ *
+ * Not thread safe on its own: callers synchronize (see RecurringWheelScheduler).
+ */
+public class TimingWheel {
+
+    private final Level root;
+    private final PriorityQueue<Slot> pending = new PriorityQueue<>((a, b) -> Long.compare(a.expiration, b.expiration));
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.root = new Level(tickMs, wheelSize, startMs);
+    }
+
+    // (re)schedules id; returns false when the deadline has already passed (caller fires it now)
+    public boolean schedule(long id, long deadlineMs) {
+        cancel(id);
+        Entry entry = new Entry(id, deadlineMs);
+        if (!root.add(entry)) {
+            return false;
+        }
+        entries.put(id, entry);
+        return true;
+    }
+
+    public void cancel(long id) {
+        Entry entry = entries.remove(id);
+        if (entry != null) {
+            entry.cancelled = true; // dropped lazily when its slot is flushed
+        }
+    }
+
+    // moves the clock to now and returns every id whose deadline has passed
+    public List<Long> advance(long nowMs) {
+        List<Long> expired = new ArrayList<>();
+
+        while (!pending.isEmpty() && pending.peek().expiration <= nowMs) {
+            Slot slot = pending.poll();
+            root.advanceClock(slot.expiration);
+
+            List<Entry> flushed = new ArrayList<>(slot.entries);
+            slot.reset();
+            for (Entry entry : flushed) {
+                if (entry.cancelled) continue;
+                // higher levels cascade down; whatever cannot be placed any more is due
+                if (!root.add(entry)) {
+                    entries.remove(entry.id);
+                    expired.add(entry.id);
+                }
+            }
+        }
+        root.advanceClock(nowMs);
+        return expired;
+    }
+
+    // deadline id is currently scheduled for, or null when it is not on the wheel
+    public Long deadlineOf(long id) {
+        Entry entry = entries.get(id);
+        return entry != null ? entry.deadline : null;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static final class Entry {
+        final long id;
+        final long deadline;
+        boolean cancelled;
+
+        Entry(long id, long deadline) {
+            this.id = id;
+            this.deadline = deadline;
+        }
+    }
+
+    private static final class Slot {
+        final Set<Entry> entries = new LinkedHashSet<>();
+        long expiration = -1;
+
+        void reset() {
+            entries.clear();
+            expiration = -1;
+        }
+    }
+
+    private final class Level {
+        final long tickMs;
+        final int wheelSize;
+        final long interval;
+        final Slot[] slots;
+        long currentTime;
+        Level overflow;
+
+        Level(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.currentTime = startMs - (startMs % tickMs);
+            this.slots = new Slot[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                slots[i] = new Slot();
+            }
+        }
+
+        boolean add(Entry entry) {
+            if (entry.deadline < currentTime + tickMs) {
+                return false;
+            }
+            if (entry.deadline < currentTime + interval) {
+                long virtualId = entry.deadline / tickMs;
+                Slot slot = slots[(int) (virtualId % wheelSize)];
+                slot.entries.add(entry);
+
+                long expiration = virtualId * tickMs;
+                if (slot.expiration != expiration) {
+                    slot.expiration = expiration;
+                    pending.add(slot);
+                }
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level(interval, wheelSize, currentTime);
+            }
+            return overflow.add(entry);
+        }
+
+        void advanceClock(long timeMs) {
+            if (timeMs >= currentTime + tickMs) {
+                currentTime = timeMs - (timeMs % tickMs);
+                if (overflow != null) {
+                    overflow.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.expense_tracker.repository;
+
+import com.expense_tracker.model.Role;
+import com.expense_tracker.model.User;
+import com.expense_tracker.support.QueryPlans;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.expense_tracker.support.QueryPlans")
+@ActiveProfiles("h2")
+class TransactionRepositoryPlanTests {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private User user;
+
+    @BeforeEach
+    void seed() {
+        user = userRepository.save(new User("Plans", "plans-" + System.nanoTime() + "@test.io",
+                "password123", Role.USER));
+        QueryPlans.clear();
+    }
+
+    // Monthly sums and listings used to filter on MONTH(date) / YEAR(date), which no index can serve
+    @Test
+    void sumSpentSeeksTheDateRange() throws Exception {
+        LocalDate start = LocalDate.of(2026, 10, 1);
+        transactionRepository.sumSpent(user.getId(), start, start.plusMonths(1), null);
+
+        assertSeeksDateRange(QueryPlans.lastSelectFrom("transactions"));
+    }
+
+    @Test
+    void monthlyListingSeeksTheDateRange() throws Exception {
+        LocalDate start = LocalDate.of(2026, 10, 1);
+        transactionRepository.findByUserIdAndDateRange(user.getId(), start, start.plusMonths(1));
+
+        assertSeeksDateRange(QueryPlans.lastSelectFrom("transactions"));
+    }
+
+    /* Helper: the date bounds must be index conditions, not a filter over the user's whole history */
+    private void assertSeeksDateRange(String sql) throws Exception {
+        String accessPath = QueryPlans.accessPath(QueryPlans.explain(dataSource, sql), "transactions");
+
+        assertThat(accessPath)
+                .startsWith("public.idx_transactions_")
+                .contains("user_id = ?", "date >= ?", "date < ?");
+    }
+}
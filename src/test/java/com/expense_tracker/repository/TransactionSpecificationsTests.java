@@ -0,0 +1,120 @@
+package com.expense_tracker.repository;
+
+import com.expense_tracker.dto.transaction.TransactionRequestDTO;
+import com.expense_tracker.dto.transaction.TransactionResponseDTO;
+import com.expense_tracker.model.Category;
+import com.expense_tracker.model.Role;
+import com.expense_tracker.model.Transaction;
+import com.expense_tracker.model.TransactionType;
+import com.expense_tracker.model.User;
+import com.expense_tracker.service.transaction.TransactionService;
+import com.expense_tracker.support.QueryPlans;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.expense_tracker.repository.TransactionSpecifications.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.expense_tracker.support.QueryPlans")
+@ActiveProfiles("h2")
+class TransactionSpecificationsTests {
+
+    private static final List<String> NOTES = List.of(
+            "50% off", "500 off", "a_b", "axb", "back\\slash", "backslash", "Latte Beans");
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private User user;
+    private List<Category> categories;
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void seed() {
+        user = userRepository.save(new User("Search", "search-" + System.nanoTime() + "@test.io",
+                "password123", Role.USER));
+        categories = categoryRepository.findAll();
+
+        for (String notes : NOTES) {
+            TransactionRequestDTO request = new TransactionRequestDTO();
+            request.setAmount(10.0);
+            request.setType("EXPENSE");
+            request.setDate(today);
+            request.setCategoryId(categories.get(0).getId());
+            request.setNotes(notes);
+            transactionService.addTransaction(request, user.getId());
+        }
+        QueryPlans.clear();
+    }
+
+    @Test
+    void notesContainMatchesLikeWildcardsLiterally() {
+        assertThat(notesMatching("%")).containsExactly("50% off");
+        assertThat(notesMatching("_")).containsExactly("a_b");
+        assertThat(notesMatching("\\")).containsExactly("back\\slash");
+    }
+
+    @Test
+    void notesContainIgnoresCase() {
+        assertThat(notesMatching("latte BEANS")).containsExactly("Latte Beans");
+        assertThat(notesMatching("OFF")).containsExactlyInAnyOrder("50% off", "500 off");
+    }
+
+    @Test
+    void combinedSearchSeeksTheUsersDateRange() throws Exception {
+        Specification<Transaction> spec = liveOf(user.getId())
+                .and(hasType(TransactionType.EXPENSE))
+                .and(inCategories(List.of(categories.get(0).getId(), categories.get(1).getId())))
+                .and(dateFrom(today.minusMonths(1)))
+                .and(dateBefore(today.plusDays(1)))
+                .and(amountAtLeast(5))
+                .and(amountAtMost(50))
+                .and(notesContain("off"))
+                .and(seekAfter(today.plusDays(1), Long.MAX_VALUE));
+
+        assertThat(transactionRepository.findPage(spec, 20)).hasSize(2);
+
+        String plan = QueryPlans.explain(dataSource, QueryPlans.lastSelectFrom("transactions"));
+        assertThat(QueryPlans.accessPath(plan, "transactions"))
+                .startsWith("public.idx_transactions_")
+                .contains("user_id = ?", "date >= ?");
+    }
+
+    @Test
+    void notesOnlySearchStillUsesTheUserIndex() throws Exception {
+        transactionRepository.findPage(liveOf(user.getId()).and(notesContain("off")), 20);
+
+        String plan = QueryPlans.explain(dataSource, QueryPlans.lastSelectFrom("transactions"));
+        assertThat(QueryPlans.accessPath(plan, "transactions"))
+                .doesNotContain("tablescan")
+                .contains("user_id = ?");
+    }
+
+    /* Helper: notes of the user's live transactions matching notesContain(text) */
+    private List<String> notesMatching(String text) {
+        return transactionRepository.findPage(liveOf(user.getId()).and(notesContain(text)), 50).stream()
+                .map(TransactionResponseDTO::getNotes)
+                .toList();
+    }
+}
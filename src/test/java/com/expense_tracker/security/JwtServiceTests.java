@@ -0,0 +1,87 @@
+package com.expense_tracker.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTests {
+
+    private final JwtService jwtService = new JwtService();
+
+    @Test
+    void parsesAGeneratedTokenOnce() {
+        String token = jwtService.generateToken("jwt@test.io");
+
+        Claims claims = jwtService.parseValidClaims(token);
+
+        assertThat(claims.getSubject()).isEqualTo("jwt@test.io");
+        assertThat(claims.getExpiration().getTime() - claims.getIssuedAt().getTime())
+                .isEqualTo(jwtService.getExpiryInSeconds() * 1000);
+        assertThat(jwtService.isTokenValid(claims, "jwt@test.io")).isTrue();
+        assertThat(jwtService.isTokenValid(claims, "other@test.io")).isFalse();
+    }
+
+    @Test
+    void rejectsATamperedSignature() {
+        String token = jwtService.generateToken("jwt@test.io");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtService.parseValidClaims(tampered)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void rejectsATokenSignedWithAnotherKey() {
+        Key otherKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        String token = Jwts.builder().setSubject("jwt@test.io").signWith(otherKey, SignatureAlgorithm.HS256).compact();
+
+        assertThatThrownBy(() -> jwtService.parseValidClaims(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void rejectsAnExpiredToken() {
+        Key signInKey = (Key) ReflectionTestUtils.getField(jwtService, "signInKey");
+        String token = Jwts.builder()
+                .setSubject("jwt@test.io")
+                .setIssuedAt(new Date(System.currentTimeMillis() - 120_000))
+                .setExpiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(signInKey, SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThatThrownBy(() -> jwtService.parseValidClaims(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    // the parser and key are shared by every request thread
+    @Test
+    void sharedParserIsSafeAcrossThreads() throws Exception {
+        List<String> tokens = IntStream.range(0, 64).mapToObj(i -> jwtService.generateToken("user" + i + "@test.io")).toList();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> checks = IntStream.range(0, 2_000)
+                    .<Callable<Boolean>>mapToObj(i -> () -> jwtService.isTokenValid(tokens.get(i % 64), "user" + (i % 64) + "@test.io"))
+                    .toList();
+
+            for (Future<Boolean> result : pool.invokeAll(checks)) {
+                assertThat(result.get()).isTrue();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.expense_tracker.security;
+
+import com.expense_tracker.constants.SecurityConstants;
+import com.expense_tracker.model.Role;
+import com.expense_tracker.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class LoginAttemptTrackerTests {
+
+    private JdbcTemplate jdbcTemplate;
+    private LoginAttemptTracker tracker;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        tracker = new LoginAttemptTracker(jdbcTemplate);
+        ReflectionTestUtils.setField(tracker, "windowMinutes", 15L);
+
+        user = new User("Attempts", "attempts@test.io", "hash", Role.USER);
+        user.setId(7L);
+    }
+
+    @Test
+    void locksOnTheLastAllowedFailure() {
+        for (int i = 1; i < SecurityConstants.MAX_FAILED_ATTEMPTS; i++) {
+            assertThat(tracker.recordFailure(user)).isFalse();
+            assertThat(tracker.isLocked(user)).isFalse();
+        }
+
+        assertThat(tracker.recordFailure(user)).isTrue();
+        assertThat(tracker.isLocked(user)).isTrue();
+    }
+
+    @Test
+    void failuresOutsideTheWindowAreForgotten() {
+        ReflectionTestUtils.setField(tracker, "windowMinutes", 0L);
+
+        for (int i = 0; i < SecurityConstants.MAX_FAILED_ATTEMPTS * 2; i++) {
+            assertThat(tracker.recordFailure(user)).isFalse();
+        }
+        assertThat(tracker.isLocked(user)).isFalse();
+    }
+
+    @Test
+    void successClearsFailuresAndTheLock() {
+        failUntilLocked();
+
+        tracker.recordSuccess(user);
+
+        assertThat(tracker.isLocked(user)).isFalse();
+        assertThat(tracker.recordFailure(user)).isFalse();
+    }
+
+    @Test
+    void continuesFromThePersistedCounter() {
+        user.setFailedAttempts(SecurityConstants.MAX_FAILED_ATTEMPTS - 1);
+
+        assertThat(tracker.recordFailure(user)).isTrue();
+    }
+
+    @Test
+    void honoursAPersistedLockFromAnotherNode() {
+        user.setAccountLocked(true);
+        user.setLockTime(LocalDateTime.now().minusMinutes(1));
+        assertThat(tracker.isLocked(user)).isTrue();
+
+        user.setLockTime(LocalDateTime.now().minusMinutes(SecurityConstants.LOCK_TIME_DURATION + 1));
+        assertThat(tracker.isLocked(user)).isFalse();
+    }
+
+    @Test
+    void flushWritesChangedStateOnce() {
+        failUntilLocked();
+
+        tracker.flush();
+        tracker.flush();
+
+        List<Object[]> rows = captureBatch(1);
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)[0]).isEqualTo(SecurityConstants.MAX_FAILED_ATTEMPTS);
+        assertThat(rows.get(0)[1]).isEqualTo(true);
+        assertThat(rows.get(0)[2]).isNotNull();
+        assertThat(rows.get(0)[3]).isEqualTo(7L);
+    }
+
+    @Test
+    void successWithNothingToResetWritesNothing() {
+        tracker.recordSuccess(user);
+        tracker.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void failedFlushIsRetriedOnTheNextOne() {
+        tracker.recordFailure(user);
+        doThrow(new DataAccessResourceFailureException("down"))
+                .doReturn(new int[]{1})
+                .when(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+        tracker.flush();
+        tracker.flush();
+        tracker.flush();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+    }
+
+    /* Helper: records failures until the tracker reports the lock */
+    private void failUntilLocked() {
+        for (int i = 0; i < SecurityConstants.MAX_FAILED_ATTEMPTS; i++) {
+            tracker.recordFailure(user);
+        }
+        assertThat(tracker.isLocked(user)).isTrue();
+    }
+
+    /* Helper: rows of the only batch written, after checking how many batches were written */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<Object[]> captureBatch(int expectedBatches) {
+        ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(expectedBatches)).batchUpdate(anyString(), captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,101 @@
+package com.expense_tracker.security;
+
+import com.expense_tracker.config.cache.CacheInvalidationBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PrincipalCacheTests {
+
+    private static final long FAR_FUTURE = Long.MAX_VALUE;
+
+    private final List<CacheInvalidationBus> buses = new ArrayList<>();
+
+    private PrincipalCache nodeA;
+    private PrincipalCache nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = node(bus());
+        nodeB = node(bus());
+    }
+
+    @Test
+    void invalidationReachesTheOtherNodes() {
+        nodeA.put("token-a", principal("alice@test.io"), FAR_FUTURE);
+        nodeB.put("token-b", principal("alice@test.io"), FAR_FUTURE);
+        nodeB.put("token-c", principal("bob@test.io"), FAR_FUTURE);
+
+        nodeA.invalidateUser("alice@test.io");
+
+        assertThat(nodeA.get("token-a")).isNull();
+        assertThat(nodeB.get("token-b")).isNull();
+        assertThat(nodeB.get("token-c")).isNotNull();
+    }
+
+    @Test
+    void invalidateAllClearsEveryNode() {
+        nodeA.put("token-a", principal("alice@test.io"), FAR_FUTURE);
+        nodeB.put("token-b", principal("bob@test.io"), FAR_FUTURE);
+
+        nodeA.invalidateAll();
+
+        assertThat(nodeA.get("token-a")).isNull();
+        assertThat(nodeB.get("token-b")).isNull();
+    }
+
+    @Test
+    void withoutRedisTheTtlIsCappedToTheStandaloneTtl() {
+        PrincipalCache standalone = node(null);
+
+        assertThat(ReflectionTestUtils.getField(standalone, "ttlSeconds")).isEqualTo(5L);
+    }
+
+    /* Helper: a bus whose Redis publish is delivered to every bus of the test (like the real channel) */
+    private CacheInvalidationBus bus() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        doAnswer(invocation -> {
+            byte[] body = invocation.getArgument(1, String.class).getBytes(StandardCharsets.UTF_8);
+            buses.forEach(bus -> bus.onMessage(new DefaultMessage(CacheInvalidationBus.CHANNEL.getBytes(), body), null));
+            return 1L;
+        }).when(redis).convertAndSend(anyString(), anyString());
+
+        CacheInvalidationBus bus = new CacheInvalidationBus(redis);
+        buses.add(bus);
+        return bus;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PrincipalCache node(CacheInvalidationBus bus) {
+        ObjectProvider<CacheInvalidationBus> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(bus);
+
+        PrincipalCache cache = new PrincipalCache(provider);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(cache, "standaloneTtlSeconds", 5L);
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+        ReflectionTestUtils.invokeMethod(cache, "subscribe");
+        return cache;
+    }
+
+    private static UserDetails principal(String username) {
+        return User.withUsername(username)
+                .password("hash")
+                .authorities(new SimpleGrantedAuthority("ROLE_USER"))
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.expense_tracker.security.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.ReturnType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/*
+ * The bucket arithmetic itself runs inside Redis (Lua); these tests pin what the store
+ * sends to the script and how it turns the reply into a wait.
+ */
+class RedisRateLimitStoreTests {
+
+    private RedisConnectionFactory connectionFactory;
+    private RedisConnection connection;
+    private RedisRateLimitStore store;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = mock(RedisConnectionFactory.class);
+        connection = mock(RedisConnection.class);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        store = new RedisRateLimitStore(connectionFactory);
+    }
+
+    @Test
+    void passesTheBucketKeyCapacityAndRefillPerMillisecond() {
+        replyWith(0L);
+
+        assertThat(store.tryConsume("user:1", 100, 120)).isZero();
+
+        ArgumentCaptor<byte[][]> keysAndArgs = ArgumentCaptor.forClass(byte[][].class);
+        verify(connection).evalSha(anyString(), eq(ReturnType.INTEGER), eq(1), keysAndArgs.capture());
+        assertThat(Arrays.stream(keysAndArgs.getValue()).map(RedisRateLimitStoreTests::text))
+                .containsExactly("expense-tracker:rate-limit:user:1", "100", "0.002");
+    }
+
+    @Test
+    void convertsTheScriptsWaitToNanos() {
+        replyWith(250L);
+
+        assertThat(store.tryConsume("ip:10.0.0.1", 10, 10)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(250));
+    }
+
+    @Test
+    void failsOpenWhenRedisIsDown() {
+        when(connection.evalSha(anyString(), any(ReturnType.class), anyInt(), any(byte[][].class)))
+                .thenThrow(new RedisConnectionFailureException("connection refused"));
+
+        assertThat(store.tryConsume("user:1", 100, 100)).isZero();
+    }
+
+    /* Helper: stubs the script's reply (ms to wait, 0 = allowed) */
+    private void replyWith(long waitMs) {
+        when(connection.evalSha(anyString(), any(ReturnType.class), anyInt(), any(byte[][].class)))
+                .thenReturn(waitMs);
+    }
+
+    private static String text(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,173 @@
+package com.expense_tracker.service.imports;
+
+import com.expense_tracker.dto.imports.ImportJobResponseDTO;
+import com.expense_tracker.exception.TooManyRequestsException;
+import com.expense_tracker.model.Category;
+import com.expense_tracker.model.Role;
+import com.expense_tracker.model.User;
+import com.expense_tracker.model.budget.Budget;
+import com.expense_tracker.model.imports.ImportFormat;
+import com.expense_tracker.model.imports.ImportJob;
+import com.expense_tracker.model.imports.ImportJobStatus;
+import com.expense_tracker.repository.CategoryRepository;
+import com.expense_tracker.repository.TransactionRepository;
+import com.expense_tracker.repository.UserRepository;
+import com.expense_tracker.repository.budget.BudgetRepository;
+import com.expense_tracker.repository.imports.ImportJobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = "app.imports.dir=target/test-imports")
+@ActiveProfiles("h2")
+class TransactionImportServiceTests {
+
+    private static final int GOOD_ROWS = 3_000;
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    private User user;
+    private Budget foodBudget;
+    private final LocalDate month = LocalDate.now().withDayOfMonth(1);
+
+    @BeforeEach
+    void setUp() {
+        String email = "import-" + System.nanoTime() + "@test.io";
+        user = userRepository.save(new User("Import", email, "password123", Role.USER));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                email, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+
+        Category food = categoryRepository.findAll().stream()
+                .filter(c -> c.getName().equals("Food"))
+                .findFirst()
+                .orElseThrow();
+        foodBudget = budgetRepository.save(Budget.builder()
+                .user(user)
+                .category(food)
+                .month(month.getMonthValue())
+                .year(month.getYear())
+                .amount(1_000_000.0)
+                .spent(0.0)
+                .build());
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void importsGoodRowsReportsBadOnesAndRecomputesBudgets() throws Exception {
+        StringBuilder csv = new StringBuilder("﻿Date,Amount,Type,Category,Notes\n");
+        double foodSpentThisMonth = 0;
+        for (int i = 0; i < GOOD_ROWS; i++) {
+            LocalDate date = month.minusDays(i % 60);
+            String category = i % 2 == 0 ? "food" : "Rent";
+            String type = i % 5 == 0 ? "INCOME" : "expense";
+            csv.append(date).append(',').append(1 + i % 10).append(',').append(type).append(',')
+                    .append(category).append(",\"note, ").append(i).append("\"\n");
+            if (!type.equals("INCOME") && category.equals("food") && !date.isBefore(month)) {
+                foodSpentThisMonth += 1 + i % 10;
+            }
+        }
+        csv.append("2026-13-01,5,EXPENSE,Food,bad date\n")
+                .append("2026-01-01,-5,EXPENSE,Food,negative\n")
+                .append("2026-01-01,5,TRANSFER,Food,bad type\n")
+                .append("2026-01-01,5,EXPENSE,Nope,unknown category\n");
+
+        ImportJobResponseDTO job = transactionImportService.submit(csv("bank.csv", csv.toString()));
+
+        // one queued or running import per user
+        assertThatThrownBy(() -> transactionImportService.submit(csv("again.csv", "Date,Amount,Type\n")))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        ImportJobResponseDTO done = awaitFinished(job.getId());
+        assertThat(done.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(done.getImportedRows()).isEqualTo(GOOD_ROWS);
+        assertThat(done.getSkippedRows()).isEqualTo(4);
+        assertThat(done.getRowErrors()).hasSize(4);
+        assertThat(transactionRepository.findByUserIdAndDateRange(user.getId(), month.minusDays(60), month.plusMonths(1)))
+                .hasSize(GOOD_ROWS);
+        assertThat(budgetRepository.findSpentById(foodBudget.getId())).isEqualTo(foodSpentThisMonth);
+    }
+
+    @Test
+    void failsAFileWithoutTheRequiredColumns() throws Exception {
+        ImportJobResponseDTO job = transactionImportService.submit(csv("bad.csv", "foo,bar\n1,2\n"));
+
+        ImportJobResponseDTO done = awaitFinished(job.getId());
+        assertThat(done.getStatus()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(done.getErrorMessage()).contains("date", "amount", "type");
+    }
+
+    @Test
+    void sweepFailsOnlyStaleJobsAndTheirOwnerCannotCompleteThemAfterwards() {
+        LocalDateTime now = LocalDateTime.now();
+        ImportJob stale = importJobRepository.save(runningJob("crashed-node", now.minusMinutes(30)));
+        ImportJob live = importJobRepository.save(runningJob("live-node", now));
+
+        transactionImportService.failInterruptedJobs();
+
+        assertThat(importJobRepository.findById(stale.getId()).orElseThrow().getStatus()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(importJobRepository.findById(live.getId()).orElseThrow().getStatus()).isEqualTo(ImportJobStatus.RUNNING);
+
+        // the owner finishing late must not turn the FAILED job back into COMPLETED
+        assertThat(importJobRepository.markCompleted(stale.getId(), "crashed-node", null, now)).isZero();
+        assertThat(importJobRepository.findById(stale.getId()).orElseThrow().getStatus()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(importJobRepository.markCompleted(live.getId(), "live-node", null, now)).isOne();
+    }
+
+    private ImportJob runningJob(String owner, LocalDateTime heartbeatAt) {
+        return ImportJob.builder()
+                .user(user)
+                .format(ImportFormat.CSV)
+                .status(ImportJobStatus.RUNNING)
+                .ownerNode(owner)
+                .heartbeatAt(heartbeatAt)
+                .build();
+    }
+
+    /* Helper: polls the job the way clients do (on this thread, which holds the login) until it is finished */
+    private ImportJobResponseDTO awaitFinished(Long jobId) {
+        return await().atMost(60, TimeUnit.SECONDS).pollInSameThread()
+                .until(() -> transactionImportService.getJob(jobId),
+                        j -> j.getStatus() != ImportJobStatus.QUEUED && j.getStatus() != ImportJobStatus.RUNNING);
+    }
+
+    private static MockMultipartFile csv(String name, String content) {
+        return new MockMultipartFile("file", name, "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,120 @@
+package com.expense_tracker.service.notification;
+
+import com.expense_tracker.model.notification.Notification;
+import com.expense_tracker.repository.notification.NotificationsRepository;
+import com.expense_tracker.support.FakeSmtpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationDispatcherTests {
+
+    private final NotificationsRepository notificationsRepository = mock(NotificationsRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FakeSmtpServer smtp;
+    private NotificationDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (dispatcher != null) dispatcher.stop();
+        if (smtp != null) smtp.close();
+    }
+
+    @Test
+    void sendsEachBatchOverOneSmtpConnection() throws Exception {
+        start(0, 10_000);
+
+        IntStream.range(0, 500).forEach(i -> dispatcher.enqueue(notification("T" + i), "user" + i + "@test.io"));
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> smtp.getRecipients().size() == 500);
+        assertThat(smtp.getRecipients()).doesNotHaveDuplicates();
+        // batches of 200: at most one connection (and one saveAll) per batch, never one per message
+        assertThat(smtp.getConnections()).isBetween(3, 6);
+        verify(notificationsRepository, atMost(6)).saveAll(anyList());
+        verify(notificationsRepository, never()).save(any());
+    }
+
+    @Test
+    void savesRowByRowWhenTheBatchInsertFails() throws Exception {
+        start(0, 10_000);
+        when(notificationsRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("title too long"));
+        when(notificationsRepository.save(argThat(n -> n.getTitle().length() > 255)))
+                .thenThrow(new DataIntegrityViolationException("title too long"));
+
+        dispatcher.enqueue(notification("ok-1"), "a@test.io");
+        dispatcher.enqueue(notification("x".repeat(300)), "b@test.io");
+        dispatcher.enqueue(notification("ok-2"), "c@test.io");
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> smtp.getRecipients().size() == 3);
+        verify(notificationsRepository, timeout(5_000).times(3)).save(any());
+    }
+
+    @Test
+    void shedsEmailButKeepsTheRowWhenTheQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        when(notificationsRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            workerBusy.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        start(0, 2);
+
+        dispatcher.enqueue(notification("held"), "held@test.io");
+        assertThat(workerBusy.await(5, TimeUnit.SECONDS)).isTrue();
+        dispatcher.enqueue(notification("queued-1"), "q1@test.io");
+        dispatcher.enqueue(notification("queued-2"), "q2@test.io");
+        dispatcher.enqueue(notification("overflow"), "overflow@test.io");
+
+        verify(notificationsRepository).save(argThat(n -> n.getTitle().equals("overflow")));
+        assertThat(meterRegistry.counter("notifications.shed").count()).isEqualTo(1.0);
+
+        release.countDown();
+        await().atMost(10, TimeUnit.SECONDS).until(() -> smtp.getRecipients().size() == 3);
+        assertThat(smtp.getRecipients()).doesNotContain("overflow@test.io");
+    }
+
+    @Test
+    void retriesEmailsTheServerRejected() throws Exception {
+        start(1, 10_000);
+
+        dispatcher.enqueue(notification("retry"), "retry@test.io");
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> smtp.getRecipients().contains("retry@test.io"));
+        assertThat(smtp.getConnections()).isEqualTo(2);
+    }
+
+    /* Helper: dispatcher wired to a fresh fake SMTP server, short retry backoff */
+    private void start(int rejectedConnections, int queueCapacity) throws Exception {
+        smtp = new FakeSmtpServer(rejectedConnections);
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.getPort());
+
+        dispatcher = new NotificationDispatcher(notificationsRepository, mailSender, meterRegistry);
+        ReflectionTestUtils.setField(dispatcher, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 200);
+        ReflectionTestUtils.setField(dispatcher, "maxMailAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "retryBackoffMs", 50L);
+        dispatcher.start();
+    }
+
+    private static Notification notification(String title) {
+        return Notification.builder()
+                .title(title)
+                .message("message")
+                .build();
+    }
+}
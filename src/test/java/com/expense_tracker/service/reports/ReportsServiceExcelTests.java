@@ -0,0 +1,103 @@
+package com.expense_tracker.service.reports;
+
+import com.expense_tracker.model.Category;
+import com.expense_tracker.model.Transaction;
+import com.expense_tracker.model.TransactionType;
+import com.expense_tracker.repository.TransactionRepository;
+import com.expense_tracker.service.UserService;
+import jakarta.persistence.EntityManager;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/*
+ * writeExcel keeps only the SXSSF row window in memory. Rows are generated lazily here
+ * (nothing holds them), span many windows and persistence-context clears, and must all
+ * come out complete.
+ */
+class ReportsServiceExcelTests {
+
+    private static final int ROWS = 12_000;
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private ReportsService reportsService;
+
+    @BeforeEach
+    void setUp() {
+        reportsService = new ReportsService(transactionRepository, mock(UserService.class),
+                mock(StatementPdfRenderer.class), mock(StatementPdfCache.class), entityManager);
+        ReflectionTestUtils.setField(reportsService, "excelRowWindow", 50);
+    }
+
+    @Test
+    void writesEveryRowAcrossTheRowWindow() throws Exception {
+        when(transactionRepository.streamByUserIdAndDateRange(1L, START, START.plusYears(1)))
+                .thenReturn(transactions());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        reportsService.writeExcel(1L, START, START.plusYears(1), out);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("Transactions");
+            assertThat(sheet.getLastRowNum()).isEqualTo(ROWS);
+            assertThat(sheet.getRow(0).getCell(0).getStringCellValue()).isEqualTo("Date");
+
+            Set<String> notes = new HashSet<>();
+            double amounts = 0;
+            long generalRows = 0;
+            for (int r = 1; r <= ROWS; r++) {
+                Row row = sheet.getRow(r);
+                notes.add(row.getCell(4).getStringCellValue());
+                amounts += row.getCell(1).getNumericCellValue();
+                if (row.getCell(3).getStringCellValue().equals("General")) generalRows++;
+            }
+            assertThat(notes).hasSize(ROWS);
+            assertThat(amounts).isEqualTo(ROWS * (ROWS + 1) / 2.0);
+            assertThat(generalRows).isEqualTo(ROWS / 2);
+        }
+        // managed entities are dropped every chunk instead of piling up for the whole export
+        verify(entityManager, atLeast(ROWS / 500)).clear();
+    }
+
+    @Test
+    void writesTheHeaderForAnEmptyRange() throws Exception {
+        when(transactionRepository.streamByUserIdAndDateRange(1L, START, START.plusMonths(1)))
+                .thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        reportsService.writeExcel(1L, START, START.plusMonths(1), out);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThat(workbook.getSheet("Transactions").getLastRowNum()).isZero();
+        }
+    }
+
+    /* Helper: ROWS transactions, every other one uncategorised */
+    private static Stream<Transaction> transactions() {
+        Category food = new Category();
+        food.setName("Food");
+        return IntStream.range(0, ROWS).mapToObj(i -> Transaction.builder()
+                .amount(1.0 + i)
+                .type(i % 4 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE)
+                .date(START.plusDays(i % 365))
+                .category(i % 2 == 0 ? food : null)
+                .notes("row " + i)
+                .build());
+    }
+}
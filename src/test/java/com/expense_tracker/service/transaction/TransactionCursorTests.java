@@ -0,0 +1,55 @@
+package com.expense_tracker.service.transaction;
+
+import com.expense_tracker.dto.transaction.TransactionResponseDTO;
+import com.expense_tracker.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionCursorTests {
+
+    @Test
+    void roundTripsThroughTheToken() {
+        TransactionCursor cursor = new TransactionCursor(LocalDate.of(2026, 2, 28), 9_007_199_254_740_993L);
+
+        String token = cursor.encode();
+
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(TransactionCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void startsAfterTheLastRowOfAPage() {
+        TransactionResponseDTO last = new TransactionResponseDTO();
+        last.setId(42L);
+        last.setDate(LocalDate.of(2026, 10, 1));
+
+        assertThat(TransactionCursor.after(last)).isEqualTo(new TransactionCursor(LocalDate.of(2026, 10, 1), 42L));
+    }
+
+    @Test
+    void rejectsTokensThatAreNotBase64() {
+        assertThatThrownBy(() -> TransactionCursor.decode("not a cursor!"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void rejectsTokensWithoutBothParts() {
+        assertThatThrownBy(() -> TransactionCursor.decode(token("2026-10-01")))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> TransactionCursor.decode(token("2026-10-01|abc")))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> TransactionCursor.decode(token("2026-13-01|1")))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    /* Helper: encodes raw cursor text the way TransactionCursor does */
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
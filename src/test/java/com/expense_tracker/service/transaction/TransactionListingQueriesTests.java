@@ -0,0 +1,112 @@
+package com.expense_tracker.service.transaction;
+
+import com.expense_tracker.dto.transaction.TransactionRequestDTO;
+import com.expense_tracker.dto.transaction.TransactionResponseDTO;
+import com.expense_tracker.model.Category;
+import com.expense_tracker.model.Role;
+import com.expense_tracker.model.TransactionType;
+import com.expense_tracker.model.User;
+import com.expense_tracker.repository.CategoryRepository;
+import com.expense_tracker.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Listing endpoints read TransactionView projections: one select plus one count per page,
+ * however many rows or categories the page holds (no lazy loads of user / category).
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class TransactionListingQueriesTests {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+    private List<Category> categories;
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.save(new User("Listing", "listing-" + System.nanoTime() + "@test.io",
+                "password123", Role.USER));
+        categories = categoryRepository.findAll();
+
+        for (int i = 0; i < 30; i++) {
+            TransactionRequestDTO request = new TransactionRequestDTO();
+            request.setAmount(2.0 + i);
+            request.setType(i % 2 == 0 ? "EXPENSE" : "INCOME");
+            request.setDate(today.minusDays(i % 5));
+            request.setCategoryId(categories.get(i % categories.size()).getId());
+            transactionService.addTransaction(request, user.getId());
+        }
+    }
+
+    @Test
+    void getAllRunsOneSelectAndOneCount() {
+        Page<TransactionResponseDTO> page = countStatements(
+                () -> transactionService.getAll(user.getId(), 0, PAGE_SIZE));
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getTotalElements()).isEqualTo(30);
+    }
+
+    @Test
+    void filterByTypeRunsOneSelectAndOneCount() {
+        Page<TransactionResponseDTO> page = countStatements(
+                () -> transactionService.filterByType(user.getId(), TransactionType.EXPENSE, 0, PAGE_SIZE));
+
+        assertThat(page.getContent()).hasSize(15);
+    }
+
+    @Test
+    void filterByCategoryRunsOneSelectAndOneCount() {
+        Page<TransactionResponseDTO> page = countStatements(
+                () -> transactionService.filterByCategory(user.getId(), categories.get(0).getId(), 0, PAGE_SIZE));
+
+        assertThat(page.getContent()).isNotEmpty();
+    }
+
+    @Test
+    void filterByDateRangeRunsOneSelectAndOneCount() {
+        Page<TransactionResponseDTO> page = countStatements(
+                () -> transactionService.filterByDateRange(user.getId(), today.minusDays(1), today, 0, PAGE_SIZE));
+
+        assertThat(page.getContent()).hasSize(12);
+        assertThat(page.getContent()).allSatisfy(dto -> assertThat(dto.getCategoryName()).isNotNull());
+    }
+
+    /* Helper: runs the listing with fresh statistics and checks it stayed within select + count */
+    private <T> T countStatements(Supplier<T> listing) {
+        statistics.clear();
+        T result = listing.get();
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        return result;
+    }
+}
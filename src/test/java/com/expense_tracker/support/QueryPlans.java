@@ -0,0 +1,79 @@
+package com.expense_tracker.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Plan checks for integration tests on H2.
+ * Register as hibernate.session_factory.statement_inspector to capture the SQL Hibernate
+ * generates, then explain() it: H2 prints the access path of every table as a comment,
+ * e.g. "PUBLIC.IDX_...: USER_ID = ?1 AND DATE >= ?2" for an index or ".tableScan" for a full scan.
+ */
+public class QueryPlans implements StatementInspector {
+
+    private static final List<String> CAPTURED = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (CAPTURED) {
+            CAPTURED.add(sql);
+        }
+        return sql;
+    }
+
+    public static void clear() {
+        synchronized (CAPTURED) {
+            CAPTURED.clear();
+        }
+    }
+
+    // last captured statement that reads the given table
+    public static String lastSelectFrom(String table) {
+        synchronized (CAPTURED) {
+            for (int i = CAPTURED.size() - 1; i >= 0; i--) {
+                String sql = CAPTURED.get(i).toLowerCase();
+                if (sql.startsWith("select") && sql.contains(" from " + table)) {
+                    return CAPTURED.get(i);
+                }
+            }
+        }
+        throw new AssertionError("No SELECT on " + table + " was captured");
+    }
+
+    // EXPLAIN with every parameter left NULL: H2 keeps them as ?n and plans from the predicates alone
+    public static String explain(DataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            ParameterMetaData parameters = statement.getParameterMetaData();
+            for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                statement.setObject(i, null);
+            }
+            try (ResultSet plan = statement.executeQuery()) {
+                StringBuilder text = new StringBuilder();
+                while (plan.next()) {
+                    text.append(plan.getString(1)).append('\n');
+                }
+                return text.toString().toLowerCase();
+            }
+        }
+    }
+
+    // the index (and its seek conditions) H2 reads the table through, or "<table>.tablescan"
+    public static String accessPath(String plan, String table) {
+        int from = plan.indexOf("\"" + table + "\"");
+        if (from < 0) {
+            throw new AssertionError("Table " + table + " is not in the plan:\n" + plan);
+        }
+        int start = plan.indexOf("/*", from);
+        int end = plan.indexOf("*/", start);
+        return plan.substring(start + 2, end).replaceAll("\\s+", " ").trim();
+    }
+}
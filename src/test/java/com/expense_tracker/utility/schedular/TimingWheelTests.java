@@ -0,0 +1,90 @@
+package com.expense_tracker.utility.schedular;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTests {
+
+    private static final long TICK = 1_000;
+    private static final int SLOTS = 60;
+    private static final long START = 1_000_000;
+
+    @Test
+    void firesOnlyOnceTheDeadlineTickIsReached() {
+        TimingWheel wheel = new TimingWheel(TICK, SLOTS, START);
+
+        assertThat(wheel.schedule(1, START + 5_500)).isTrue();
+
+        assertThat(wheel.advance(START + 4_999)).isEmpty();
+        assertThat(wheel.advance(START + 5_000)).containsExactly(1L);
+        assertThat(wheel.size()).isZero();
+        assertThat(wheel.advance(START + 10_000)).isEmpty();
+    }
+
+    @Test
+    void refusesDeadlinesInTheCurrentTick() {
+        TimingWheel wheel = new TimingWheel(TICK, SLOTS, START);
+
+        assertThat(wheel.schedule(1, START - 1)).isFalse();
+        assertThat(wheel.schedule(2, START + TICK - 1)).isFalse();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cascadesFarDeadlinesThroughOverflowLevels() {
+        TimingWheel wheel = new TimingWheel(TICK, SLOTS, START);
+        long oneDay = 24 * 60 * 60 * 1_000L;
+
+        wheel.schedule(1, START + oneDay + 2_500);
+        wheel.schedule(2, START + 61_000);
+
+        assertThat(wheel.advance(START + 60_999)).isEmpty();
+        assertThat(wheel.advance(START + 61_000)).containsExactly(2L);
+        assertThat(wheel.advance(START + oneDay + 1_999)).isEmpty();
+        assertThat(wheel.advance(START + oneDay + 2_000)).containsExactly(1L);
+    }
+
+    @Test
+    void rescheduleReplacesThePreviousDeadline() {
+        TimingWheel wheel = new TimingWheel(TICK, SLOTS, START);
+
+        wheel.schedule(1, START + 3_000);
+        wheel.schedule(1, START + 8_000);
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.deadlineOf(1)).isEqualTo(START + 8_000);
+        assertThat(wheel.advance(START + 5_000)).isEmpty();
+        assertThat(wheel.advance(START + 8_000)).containsExactly(1L);
+    }
+
+    @Test
+    void cancelledIdsNeverFire() {
+        TimingWheel wheel = new TimingWheel(TICK, SLOTS, START);
+
+        wheel.schedule(1, START + 2_000);
+        wheel.schedule(2, START + 2_000);
+        wheel.cancel(1);
+
+        assertThat(wheel.deadlineOf(1)).isNull();
+        assertThat(wheel.advance(START + 2_000)).containsExactly(2L);
+    }
+
+    @Test
+    void firesEveryIdOnceWhenTheClockJumps() {
+        TimingWheel wheel = new TimingWheel(TICK, SLOTS, START);
+        List<Long> scheduled = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            wheel.schedule(id, START + id * 7_919);
+            scheduled.add(id);
+        }
+
+        List<Long> fired = wheel.advance(START + 500 * 7_919 + TICK);
+
+        assertThat(fired).containsExactlyInAnyOrderElementsOf(scheduled);
+        assertThat(wheel.size()).isZero();
+    }
+}